@@ -0,0 +1,144 @@
+package com.example.userservice.configs;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.models.Like;
+import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.models.UserSubscription;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on the mapped documents before the application starts serving
+ * requests and, optionally, asks MongoDB to explain every query issued by the repositories.
+ * Startup fails if any of those queries would be answered with a collection scan, so a missing
+ * or mismatched index is caught at deploy time instead of as a latency regression.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mongodb.indexes.provision", havingValue = "true")
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final String COLLSCAN = "COLLSCAN";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    @Value("${mongodb.indexes.verify-plans:false}")
+    private boolean verifyPlans;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        provisionIndexes();
+        if (verifyPlans) {
+            verifyQueryPlans();
+        }
+    }
+
+    private void provisionIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity.getType());
+            resolver.resolveIndexFor(entity.getType()).forEach(index -> {
+                String name = indexOperations.ensureIndex(index);
+                log.info("Ensured index {} on {}", name, entity.getCollection());
+            });
+        }
+    }
+
+    /**
+     * Explains one representative query per repository method and fails if any of them plans a
+     * collection scan. Keep this list in sync with the repositories when adding query methods.
+     */
+    private void verifyQueryPlans() {
+        String probe = "index-probe";
+        List<QueryProbe> probes = List.of(
+                new QueryProbe("FeedRepository.findPageByUserId", Post.class,
+                        new Document("userId", probe), new Document("_id", -1)),
+                new QueryProbe("FeedRepository.findPageByUserIdIn", Post.class,
+                        new Document("userId", new Document("$in", List.of(probe))), new Document("_id", -1)),
+                new QueryProbe("FeedRepository.findLikeCountDirtyMarks", Post.class,
+                        new Document("likeCountDirty", new Document("$exists", true)), null),
+                new QueryProbe("FeedRepository.findAllByIdInOrder", Post.class,
+                        new Document("_id", new Document("$in", List.of(probe))), null),
+                new QueryProbe("TimelineRepository.findPageByOwnerId", TimelineEntry.class,
+                        new Document("ownerId", probe), new Document("postId", -1)),
+                new QueryProbe("TimelineRepository.appendAll", TimelineEntry.class,
+                        new Document("ownerId", probe).append("postId", probe), null),
+                new QueryProbe("UserSubscriptionRepository.findAllByOrderByUserIdAsc", UserSubscription.class,
+                        new Document(), new Document("userId", 1)),
+                new QueryProbe("UserSubscriptionRepository.findByUserId", UserSubscription.class,
+                        new Document("userId", probe), null),
+                new QueryProbe("UserSubscriptionRepository.findByFollowerId", UserSubscription.class,
+                        new Document("followerId", probe), null),
+                new QueryProbe("UserSubscriptionRepository.existsByUserIdAndFollowerId", UserSubscription.class,
+                        new Document("userId", probe).append("followerId", probe), null),
+                new QueryProbe("LikeRepository.insertIfAbsent", Like.class,
+                        new Document("postId", probe).append("userId", probe), null),
+                new QueryProbe("LikeRepository.findByUserIdAndPostIdIn", Like.class,
+                        new Document("userId", probe).append("postId", new Document("$in", List.of(probe))), null),
+                new QueryProbe("LikeRepository.countByPostIdIn", Like.class,
+                        new Document("postId", new Document("$in", List.of(probe))), null),
+                new QueryProbe("CommentRepository.findPageByPostId", Comment.class,
+                        new Document("postId", probe), new Document("publicationDate", -1).append("_id", -1)),
+                new QueryProbe("CommentRepository.deleteByIdAndUserId", Comment.class,
+                        new Document("_id", new ObjectId()).append("userId", probe), null)
+        );
+
+        List<String> collectionScans = new ArrayList<>();
+        for (QueryProbe queryProbe : probes) {
+            var find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(queryProbe.type()))
+                    .find(queryProbe.filter());
+            if (queryProbe.sort() != null) {
+                find = find.sort(queryProbe.sort());
+            }
+            Document explain = find.explain();
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            if (containsStage(winningPlan, COLLSCAN)) {
+                collectionScans.add(queryProbe.name());
+            } else {
+                log.info("Query plan of {} uses an index", queryProbe.name());
+            }
+        }
+
+        if (!collectionScans.isEmpty()) {
+            throw new IllegalStateException("Queries planned as collection scans: " + collectionScans);
+        }
+    }
+
+    private boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Map<?, ?> map) {
+            if (stage.equals(map.get("stage"))) {
+                return true;
+            }
+            return map.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    private record QueryProbe(String name, Class<?> type, Document filter, Document sort) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.configs;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.services.ids.PostIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns a time-ordered id to every new {@link Post} before it is written, instead of letting
+ * MongoDB generate an ObjectId.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostIdCallback implements BeforeConvertCallback<Post> {
+
+    private final PostIdGenerator postIdGenerator;
+
+    @Override
+    public Post onBeforeConvert(Post post, String collection) {
+        if (post.getId() == null) {
+            post.setId(postIdGenerator.nextId());
+        }
+        return post;
+    }
+}
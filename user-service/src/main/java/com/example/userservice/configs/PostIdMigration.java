@@ -0,0 +1,144 @@
+package com.example.userservice.configs;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.models.Like;
+import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.services.ids.SnowflakeIdGenerator;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * One-off migration of posts created before time-ordered ids. ObjectId {@code _id}s sort above
+ * every string in BSON order, so such posts would lead every first page and never be reached by
+ * an id cursor. Each legacy post is rewritten to the id given by
+ * {@link SnowflakeIdGenerator#fromObjectId}, together with the {@code postId} of its likes,
+ * comments and timeline entries.
+ * <p>
+ * References are rewritten first, then every post is copied under its new id before the original
+ * is deleted. The new ids are derived from the old ones, so an interrupted run can simply be
+ * repeated. Enable with {@code feed.ids.migrate-legacy-posts=true} on a single instance while no
+ * other instance is writing, since the migration runs before this one starts serving requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feed.ids.migrate-legacy-posts", havingValue = "true")
+public class PostIdMigration implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Pattern LEGACY_POST_ID = Pattern.compile("^[0-9a-f]{24}$");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Class<?> type : List.of(Like.class, Comment.class, TimelineEntry.class)) {
+            rewriteReferences(collection(type));
+        }
+        rewritePosts(collection(Post.class));
+    }
+
+    private void rewriteReferences(MongoCollection<Document> collection) {
+        List<WriteModel<Document>> updates = new ArrayList<>(BATCH_SIZE);
+        long rewritten = 0;
+        try (MongoCursor<Document> cursor = collection.find(Filters.regex("postId", LEGACY_POST_ID))
+                .projection(Projections.include("postId"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document reference = cursor.next();
+                String postId = SnowflakeIdGenerator.fromObjectId(new ObjectId(reference.getString("postId")));
+                updates.add(new UpdateOneModel<>(Filters.eq("_id", reference.get("_id")), Updates.set("postId", postId)));
+                if (updates.size() == BATCH_SIZE) {
+                    rewritten += update(collection, updates);
+                }
+            }
+        }
+        rewritten += update(collection, updates);
+        log.info("Rewrote {} legacy post ids in {}", rewritten, collection.getNamespace().getCollectionName());
+    }
+
+    private int update(MongoCollection<Document> collection, List<WriteModel<Document>> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        int count = collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        updates.clear();
+        return count;
+    }
+
+    private void rewritePosts(MongoCollection<Document> posts) {
+        long migrated = 0;
+        List<Document> legacyPosts;
+        while (!(legacyPosts = posts.find(Filters.type("_id", BsonType.OBJECT_ID))
+                .limit(BATCH_SIZE)
+                .into(new ArrayList<>())).isEmpty()) {
+            List<Document> copies = legacyPosts.stream()
+                    .map(post -> new Document(post).append("_id", SnowflakeIdGenerator.fromObjectId(post.getObjectId("_id"))))
+                    .toList();
+            insertMissing(posts, copies);
+            posts.deleteMany(Filters.in("_id", legacyPosts.stream().map(post -> post.get("_id")).toList()));
+            migrated += legacyPosts.size();
+            log.info("Migrated {} legacy posts to time-ordered ids", migrated);
+        }
+    }
+
+    /**
+     * Inserts the copies, skipping those already written by an interrupted run. A copy whose id
+     * is taken by a different post stops the migration before its original is deleted.
+     */
+    private void insertMissing(MongoCollection<Document> posts, List<Document> copies) {
+        try {
+            posts.insertMany(copies, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            List<BulkWriteError> errors = e.getWriteErrors();
+            if (errors.stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+                throw e;
+            }
+            List<Document> duplicates = errors.stream().map(error -> copies.get(error.getIndex())).toList();
+            Map<Object, Document> existing = posts.find(Filters.in("_id", duplicates.stream().map(copy -> copy.get("_id")).toList()))
+                    .into(new ArrayList<>())
+                    .stream()
+                    .collect(Collectors.toMap(post -> post.get("_id"), Function.identity()));
+            for (Document copy : duplicates) {
+                Document post = existing.get(copy.get("_id"));
+                if (post == null || !Objects.equals(post.get("userId"), copy.get("userId"))
+                        || !Objects.equals(post.get("content"), copy.get("content"))) {
+                    throw new IllegalStateException("Post id " + copy.get("_id") + " is already taken by another post");
+                }
+            }
+        }
+    }
+
+    private MongoCollection<Document> collection(Class<?> type) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type));
+    }
+}
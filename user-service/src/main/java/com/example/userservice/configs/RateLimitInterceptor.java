@@ -0,0 +1,104 @@
+package com.example.userservice.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects callers of {@link RateLimited} endpoints that exceed their budget with 429, before the
+ * request reaches the controller and the repositories. Every (endpoint name, user) pair gets its
+ * own {@link TokenBucket}; the user is taken from the {@code userId} request parameter or path
+ * variable, and falls back to the client address. Buckets live in a Caffeine cache bounded by
+ * {@code rate-limit.max-buckets} that drops buckets idle for {@code rate-limit.idle-timeout},
+ * so one-off callers do not accumulate. Requests are counted on their first dispatch only, so
+ * the async dispatch that completes a reactive handler is not charged a second time.
+ * <p>
+ * Every limited response carries {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining};
+ * rejected ones also carry {@code Retry-After} in seconds.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(Environment environment,
+                                @Value("${rate-limit.enabled:true}") boolean enabled,
+                                @Value("${rate-limit.max-buckets:100000}") long maxBuckets,
+                                @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.environment = environment;
+        this.enabled = enabled;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        String name = rateLimited.value();
+        String caller = caller(request);
+        TokenBucket bucket = buckets.get(name + ':' + caller, key -> newBucket(name));
+        TokenBucket.Probe probe = bucket.tryConsume();
+        response.setHeader(LIMIT_HEADER, String.valueOf(bucket.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.remaining()));
+        if (!probe.consumed()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.retryAfterNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+            log.warn("Rate limit {} exceeded by {}", name, caller);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded, retry later");
+        }
+        return true;
+    }
+
+    private TokenBucket newBucket(String name) {
+        long capacity = environment.getProperty("rate-limit.limits." + name + ".capacity", Long.class,
+                environment.getProperty("rate-limit.default.capacity", Long.class, 60L));
+        double refillPerSecond = environment.getProperty("rate-limit.limits." + name + ".refill-per-second", Double.class,
+                environment.getProperty("rate-limit.default.refill-per-second", Double.class, 10.0));
+        return new TokenBucket(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String caller(HttpServletRequest request) {
+        String userId = request.getParameter("userId");
+        if (!StringUtils.hasText(userId)) {
+            Object pathVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            if (pathVariables instanceof Map<?, ?> variables) {
+                userId = ((Map<String, String>) variables).get("userId");
+            }
+        }
+        return StringUtils.hasText(userId) ? "user:" + userId : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userservice.configs;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts an endpoint behind the per-user token buckets of the {@link RateLimitInterceptor}.
+ * Endpoints sharing a name share their limits, which are read from
+ * {@code rate-limit.limits.<name>.capacity} and {@code rate-limit.limits.<name>.refill-per-second}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
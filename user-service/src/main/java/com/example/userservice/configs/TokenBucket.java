@@ -0,0 +1,70 @@
+package com.example.userservice.configs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket of {@code capacity} tokens refilled at {@code refillPerSecond} tokens per
+ * second. Instead of a token count, the bucket stores a single timestamp: the moment at which it
+ * will be full again (the generic cell rate algorithm). Taking a token moves that moment one
+ * refill interval later, with a compare-and-set, and is refused when it would lie more than
+ * {@code capacity} intervals ahead of now. Concurrent requests of one user therefore never block.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @return The outcome, with the tokens left afterwards.
+     */
+    Probe tryConsume() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                long retryAfterNanos = debt - burstNanos;
+                return new Probe(false, remaining(current, now), retryAfterNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Probe(true, (burstNanos - debt) / intervalNanos, 0);
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    private long remaining(long current, long now) {
+        long debt = Math.max(current, now) - now;
+        return Math.max(0, (burstNanos - debt) / intervalNanos);
+    }
+
+    /**
+     * @param consumed        Whether a token was taken.
+     * @param remaining       The tokens left in the bucket.
+     * @param retryAfterNanos When no token was taken, the time until the next one is available.
+     */
+    record Probe(boolean consumed, long remaining, long retryAfterNanos) {
+    }
+}
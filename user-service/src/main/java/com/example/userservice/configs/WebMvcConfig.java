@@ -0,0 +1,71 @@
+package com.example.userservice.configs;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the rate limiter, and runs asynchronous MVC work such as {@code StreamingResponseBody}
+ * exports on an executor of its own, with at most {@code web.async.pool.size} threads and
+ * {@code web.async.pool.queue-capacity} waiting tasks. Long-running streams therefore never hold
+ * the threads of {@code applicationTaskExecutor}, and are rejected once both are used up. The
+ * executor is not a bean, since any {@code Executor} bean replaces {@code applicationTaskExecutor}.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final AsyncTaskExecutor asyncExecutor;
+
+    public WebMvcConfig(RateLimitInterceptor rateLimitInterceptor,
+                        @Value("${web.async.pool.size:16}") int poolSize,
+                        @Value("${web.async.pool.queue-capacity:16}") int queueCapacity,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.asyncExecutor = virtualThreads ? virtualExecutor(poolSize) : pooledExecutor(poolSize, queueCapacity);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/v1/interactions/**", "/api/v1/feed/**", "/api/v1/posts/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (asyncExecutor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+
+    private static AsyncTaskExecutor pooledExecutor(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private static AsyncTaskExecutor virtualExecutor(int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RateLimited;
+import com.example.userservice.pojos.EnrichedFeedPage;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.services.feed.FeedHydrator;
+import com.example.userservice.services.feed.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/feed")
+@Tag(name = "User Feed", description = "APIs for retrieving and creating posts in user feeds")
+public class EnrichedFeedController {
+
+    private final FeedService feedService;
+    private final FeedHydrator feedHydrator;
+
+    @Operation(summary = "Get Enriched User Feed", description = "Retrieve the feed for a user with the like count, "
+            + "the comment count and the user's own like of every post. Pass the returned nextCursor to read the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved enriched user feed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EnrichedFeedPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid user ID or pagination information", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+    })
+    @RateLimited("feed")
+    @GetMapping("/{userId}/enriched")
+    public ResponseEntity<EnrichedFeedPage> getEnrichedUserFeed(@PathVariable String userId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        FeedPage page = feedService.getUserFeed(userId, PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(feedHydrator.hydrate(page, userId));
+    }
+}
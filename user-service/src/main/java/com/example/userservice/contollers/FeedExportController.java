@@ -0,0 +1,39 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.services.feed.PostExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/feed")
+@Tag(name = "User Feed", description = "APIs for retrieving and creating posts in user feeds")
+public class FeedExportController {
+
+    private final PostExportService postExportService;
+
+    @Operation(summary = "Export User Posts", description = "Stream every post created by a specific user, newest first, "
+            + "as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts streamed as one JSON document per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    })
+    @GetMapping(value = "/specific/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserPosts(@PathVariable String userId) {
+        StreamingResponseBody body = out -> postExportService.exportUserPosts(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.userservice.contollers;
 
+import com.example.userservice.configs.RateLimited;
 import com.example.userservice.models.Comment;
 import com.example.userservice.models.Like;
+import com.example.userservice.pojos.AcceptedOperation;
+import com.example.userservice.pojos.CommentPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.services.interaction.InteractionQueue;
 import com.example.userservice.services.interaction.InteractionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +15,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,28 +27,54 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Interactions", description = "APIs for commenting and liking posts")
 public class InteractionController {
     private final InteractionService interactionService;
+    private final InteractionQueue interactionQueue;
 
-    @Operation(summary = "Post a Comment", description = "Post a comment on a specific post.")
+    @Operation(summary = "Post a Comment", description = "Post a comment on a specific post. "
+            + "In async mode the comment is queued and an operation id is returned.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully posted a comment",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Comment.class))),
+            @ApiResponse(responseCode = "202", description = "Comment queued",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AcceptedOperation.class))),
             @ApiResponse(responseCode = "400", description = "Invalid post ID or user ID", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Post or user not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Post or user not found", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Interaction queue is full or rate limit exceeded", content = @Content)
     })
+    @RateLimited("comment")
     @PostMapping("/comment/{postId}")
-    public ResponseEntity<Comment> postComment(@PathVariable @Valid String postId,
-                                               @RequestParam @Valid String userId,
-                                               @RequestBody @Valid String content) {
+    public ResponseEntity<?> postComment(@PathVariable @Valid String postId,
+                                         @RequestParam @Valid String userId,
+                                         @RequestBody @Valid String content) {
+        if (interactionQueue.isEnabled()) {
+            return accepted(interactionQueue.submitComment(postId, userId, content));
+        }
         Comment comment = interactionService.addComment(postId, userId, content);
         return ResponseEntity.ok(comment);
     }
 
+    @Operation(summary = "Get Comments", description = "Retrieve the comments of a specific post, newest first. "
+            + "Pass the returned nextCursor to read the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved comments",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid post ID or pagination information", content = @Content)
+    })
+    @GetMapping("/comment/{postId}")
+    public ResponseEntity<CommentPage> getComments(@PathVariable String postId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        CommentPage page = interactionService.getComments(postId, PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(summary = "Delete a Comment", description = "Delete a comment by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully deleted the comment"),
             @ApiResponse(responseCode = "400", description = "Invalid comment ID or user ID", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
     })
+    @RateLimited("comment")
     @DeleteMapping("/comment/{commentId}")
     public ResponseEntity<Void> deleteComment(@PathVariable @Valid String commentId,
                                               @RequestParam @Valid String userId) {
@@ -49,29 +82,49 @@ public class InteractionController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Add a Like", description = "Add a like to a specific post.")
+    @Operation(summary = "Add a Like", description = "Add a like to a specific post. "
+            + "In async mode the like is queued and an operation id is returned.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully added a like",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Like.class))),
-            @ApiResponse(responseCode = "400", description = "User already liked this post", content = @Content)
+            @ApiResponse(responseCode = "202", description = "Like queued",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AcceptedOperation.class))),
+            @ApiResponse(responseCode = "400", description = "User already liked this post", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Interaction queue is full or rate limit exceeded", content = @Content)
     })
+    @RateLimited("like")
     @PostMapping("/like/{postId}")
-    public ResponseEntity<Like> addLike(@PathVariable @Valid String postId,
-                                        @RequestParam @Valid String userId) {
+    public ResponseEntity<?> addLike(@PathVariable @Valid String postId,
+                                     @RequestParam @Valid String userId) {
+        if (interactionQueue.isEnabled()) {
+            return accepted(interactionQueue.submitLike(postId, userId));
+        }
         Like like = interactionService.addLike(postId, userId);
         return ResponseEntity.ok(like);
     }
 
-    @Operation(summary = "Remove a Like", description = "Remove a like from a specific post.")
+    @Operation(summary = "Remove a Like", description = "Remove a like from a specific post. "
+            + "In async mode the removal is queued and an operation id is returned.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully removed the like"),
+            @ApiResponse(responseCode = "202", description = "Like removal queued",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AcceptedOperation.class))),
             @ApiResponse(responseCode = "400", description = "Invalid post ID or user ID", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Like not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Like not found", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Interaction queue is full or rate limit exceeded", content = @Content)
     })
+    @RateLimited("like")
     @DeleteMapping("/like/{postId}")
-    public ResponseEntity<Void> removeLike(@PathVariable @Valid String postId,
-                                           @RequestParam @Valid String userId) {
+    public ResponseEntity<?> removeLike(@PathVariable @Valid String postId,
+                                        @RequestParam @Valid String userId) {
+        if (interactionQueue.isEnabled()) {
+            return accepted(interactionQueue.submitUnlike(postId, userId));
+        }
         interactionService.removeLike(postId, userId);
         return ResponseEntity.ok().build();
     }
+
+    private ResponseEntity<AcceptedOperation> accepted(String operationId) {
+        return ResponseEntity.accepted().body(AcceptedOperation.builder().operationId(operationId).build());
+    }
 }
\ No newline at end of file
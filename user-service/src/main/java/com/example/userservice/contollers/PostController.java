@@ -0,0 +1,41 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.services.feed.PostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/posts")
+@Tag(name = "Posts", description = "APIs for retrieving posts by id")
+public class PostController {
+
+    private final PostService postService;
+
+    @Operation(summary = "Get Posts by IDs", description = "Retrieve several posts by their ids in one call. "
+            + "Posts are returned in request order and unknown ids are skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Post.class)))),
+            @ApiResponse(responseCode = "400", description = "Too many post ids", content = @Content)
+    })
+    @GetMapping("/by-ids")
+    public ResponseEntity<List<Post>> getPostsByIds(@RequestParam List<String> ids) {
+        List<Post> posts = postService.getPostsByIds(ids);
+        return ResponseEntity.ok(posts);
+    }
+}
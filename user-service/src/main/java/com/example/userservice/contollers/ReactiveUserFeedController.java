@@ -0,0 +1,99 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RateLimited;
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
+import com.example.userservice.services.feed.ReactiveFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Feed endpoints of the {@code reactive} profile. Handlers return publishers, so the servlet
+ * request is processed asynchronously and the container thread is released while MongoDB is
+ * queried. Replaces {@link UserFeedController} when the profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/feed")
+@Tag(name = "User Feed", description = "APIs for retrieving and creating posts in user feeds")
+public class ReactiveUserFeedController {
+
+    private final ReactiveFeedService reactiveFeedService;
+
+    @Operation(summary = "Get User Feed", description = "Retrieve the feed for a user, showing posts from users they follow. "
+            + "Pass the returned nextCursor to read the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved user feed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FeedPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid user ID or pagination information", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+    })
+    @RateLimited("feed")
+    @GetMapping("/{userId}")
+    public Mono<FeedPage> getUserFeed(@PathVariable String userId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        return reactiveFeedService.getUserFeed(userId, PageCursor.decode(cursor), size)
+                .collectList()
+                .map(posts -> FeedPage.of(posts, size));
+    }
+
+    @Operation(summary = "Get Specific User Feed", description = "Retrieve posts created by a specific user. "
+            + "Pass the returned nextCursor to read the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved specific user feed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FeedPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid user ID or pagination information", content = @Content)
+    })
+    @GetMapping("/specific/{userId}")
+    public Mono<FeedPage> getSpecificUserFeed(@PathVariable String userId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        return reactiveFeedService.getSpecificUserFeed(userId, PageCursor.decode(cursor), size)
+                .collectList()
+                .map(posts -> FeedPage.of(posts, size));
+    }
+
+    @Operation(summary = "Create Post", description = "Create a new post in the specified user's feed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully created a new post",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Post.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid user ID or post content", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+    })
+    @RateLimited("post")
+    @PostMapping("/{userId}")
+    public Mono<Post> createPost(@PathVariable String userId, @RequestBody String content) {
+        return reactiveFeedService.createPost(userId, content);
+    }
+
+    @Operation(summary = "Create Posts in Batch", description = "Create many posts, possibly for different users, "
+            + "with a single bulk write. Every item gets its own result, in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+    })
+    @RateLimited("post-batch")
+    @PostMapping("/batch")
+    public Mono<List<PostBatchResult>> createPosts(@RequestBody List<PostBatchItem> items) {
+        return reactiveFeedService.createPosts(items);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.pojos.TrendingPost;
+import com.example.userservice.services.trending.TrendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/trending")
+@Tag(name = "Trending", description = "APIs for retrieving the most active posts")
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    @Operation(summary = "Get Trending Posts", description = "Retrieve the posts with the most likes and comments "
+            + "within the trending window, highest score first. Scores are estimates.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved trending posts",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TrendingPost.class))))
+    })
+    @GetMapping
+    public ResponseEntity<List<TrendingPost>> getTrending(@RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        List<TrendingPost> posts = trendingService.getTrending(limit);
+        return ResponseEntity.ok(posts);
+    }
+}
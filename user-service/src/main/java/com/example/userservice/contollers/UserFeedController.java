@@ -1,6 +1,12 @@
 package com.example.userservice.contollers;
 
+import com.example.userservice.configs.RateLimited;
 import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
+import com.example.userservice.services.feed.FeedPageCache;
 import com.example.userservice.services.feed.FeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,57 +15,111 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/feed")
 @Tag(name = "User Feed", description = "APIs for retrieving and creating posts in user feeds")
 public class UserFeedController {
 
     private final FeedService feedService;
+    private final FeedPageCache feedPageCache;
 
-    @Operation(summary = "Get User Feed", description = "Retrieve the feed for a user, showing posts from users they follow.")
+    @Operation(summary = "Get User Feed", description = "Retrieve the feed for a user, showing posts from users they follow. "
+            + "Pass the returned nextCursor to read the following page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user feed",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Post.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FeedPage.class))),
             @ApiResponse(responseCode = "400", description = "Invalid user ID or pagination information", content = @Content),
-            @ApiResponse(responseCode = "404", description = "User or posts not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "User or posts not found", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
     })
+    @RateLimited("feed")
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Post>> getUserFeed(@PathVariable @Valid String userId, @PageableDefault(size = 10) Pageable pageable) {
-        List<Post> posts = feedService.getUserFeed(userId, pageable);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<?> getUserFeed(@PathVariable @Valid String userId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (pageCursor != null) {
+            return ResponseEntity.ok(feedService.getUserFeed(userId, pageCursor, size));
+        }
+        FeedPageCache.CachedPage page = feedPageCache.getHomeFeed(userId, size, () -> feedService.getUserFeed(userId, null, size));
+        return toResponse(page, acceptEncoding);
     }
 
-    @Operation(summary = "Get Specific User Feed", description = "Retrieve posts created by a specific user.")
+    @Operation(summary = "Get Specific User Feed", description = "Retrieve posts created by a specific user. "
+            + "Pass the returned nextCursor to read the following page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved specific user feed",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Post.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FeedPage.class))),
             @ApiResponse(responseCode = "400", description = "Invalid user ID or pagination information", content = @Content),
             @ApiResponse(responseCode = "404", description = "User or posts not found", content = @Content)
     })
     @GetMapping("/specific/{userId}")
-    public ResponseEntity<List<Post>> getSpecificUserFeed(@PathVariable String userId, Pageable pageable) {
-        List<Post> posts = feedService.getSpecificUserFeed(userId, pageable);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<?> getSpecificUserFeed(@PathVariable String userId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (pageCursor != null) {
+            return ResponseEntity.ok(feedService.getSpecificUserFeed(userId, pageCursor, size));
+        }
+        FeedPageCache.CachedPage page = feedPageCache.getUserFeed(userId, size, () -> feedService.getSpecificUserFeed(userId, null, size));
+        return toResponse(page, acceptEncoding);
     }
 
     @Operation(summary = "Create Post", description = "Create a new post in the specified user's feed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully created a new post",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Post.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid user ID or post content", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid user ID or post content", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
     })
+    @RateLimited("post")
     @PostMapping("/{userId}")
     public ResponseEntity<Post> createPost(@PathVariable String userId, @RequestBody String content) {
         Post post = feedService.createPost(userId, content);
         return ResponseEntity.ok(post);
     }
+
+    @Operation(summary = "Create Posts in Batch", description = "Create many posts, possibly for different users, "
+            + "with a single bulk write. Every item gets its own result, in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+    })
+    @RateLimited("post-batch")
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostBatchResult>> createPosts(@RequestBody List<PostBatchItem> items) {
+        List<PostBatchResult> results = feedService.createPosts(items);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Writes a pre-encoded first page as is, passing gzip-compressed pages through to clients
+     * that accept gzip and decompressing them for the others.
+     */
+    private ResponseEntity<byte[]> toResponse(FeedPageCache.CachedPage page, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzipped() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.body());
+        }
+        return response.body(page.plainBody());
+    }
 }
\ No newline at end of file
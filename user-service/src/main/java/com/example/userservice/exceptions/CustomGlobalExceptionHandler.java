@@ -36,17 +36,19 @@ public class CustomGlobalExceptionHandler {
     /**
      * Handles {@link ResponseStatusException}, typically used when a handler method
      * wants to return a response status with a message but without throwing an exception.
+     * The status of the exception is kept, e.g. 429 when a queue is full.
      *
      * @param ex The exception representing the response status and message.
      * @return A {@link ResponseEntity} containing an {@link ApiError} object with the error details.
      */
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<ApiError> handleResponseStatusException(ResponseStatusException ex) {
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
         ApiError apiError = new ApiError(
-                HttpStatus.BAD_REQUEST,
+                status,
                 ex.getReason(),
                 new ArrayList<>()
         );
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(apiError, status);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.userservice.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks an author whose posts are not fanned out to follower timelines because they have
+ * more followers than the configured threshold. Their posts are merged into home feeds at
+ * read time instead. The {@code id} is the author's user id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("high_follower_authors")
+public class HighFollowerAuthor {
+    @Id
+    private String id;
+
+    private long followerCount;
+
+    private LocalDateTime updatedAt;
+}
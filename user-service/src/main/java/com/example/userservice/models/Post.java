@@ -6,16 +6,27 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document("user_posts")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_post_idx", def = "{'userId': 1, '_id': -1}"),
+        @CompoundIndex(name = "like_count_dirty_idx", def = "{'likeCountDirty': 1}", sparse = true)
+})
 public class Post {
+    /**
+     * Time-ordered id assigned by {@link com.example.userservice.services.ids.PostIdGenerator}
+     * before the first save, so sorting by id is sorting by creation time. Posts created before
+     * these ids existed are rewritten by {@link com.example.userservice.configs.PostIdMigration}.
+     */
     @Id
     private String id;
 
@@ -27,4 +38,14 @@ public class Post {
 
     @NotEmpty(message = "Publication date cannot be empty")
     private LocalDateTime publicationDate;
+
+    /**
+     * Number of likes, maintained with atomic increments by the interaction service.
+     */
+    private long likeCount;
+
+    /**
+     * Number of comments, maintained with atomic increments by the interaction service.
+     */
+    private long commentCount;
 }
\ No newline at end of file
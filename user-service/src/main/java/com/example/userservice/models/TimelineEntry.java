@@ -0,0 +1,59 @@
+package com.example.userservice.models;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A copy of a {@link Post} materialized into the home timeline of one follower.
+ * Entries are appended when a post is created, so reading a home feed is a single
+ * range read over {@code ownerId} instead of a query across every followed user.
+ * The (ownerId, postId) index is unique, so a post is stored at most once per timeline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("user_timelines")
+@CompoundIndex(name = "owner_post_unique_idx", def = "{'ownerId': 1, 'postId': -1}", unique = true)
+public class TimelineEntry {
+    @Id
+    private String id;
+
+    @NotEmpty(message = "Owner id cannot be empty")
+    private String ownerId;
+
+    @NotEmpty(message = "Post id cannot be empty")
+    private String postId;
+
+    @NotEmpty(message = "Author id cannot be empty")
+    private String authorId;
+
+    @NotEmpty(message = "Content cannot be empty")
+    private String content;
+
+    @NotEmpty(message = "Publication date cannot be empty")
+    private LocalDateTime publicationDate;
+
+    /**
+     * @param ownerId The follower whose timeline receives the entry.
+     * @param post    The persisted post to copy.
+     * @return A new timeline entry for {@code post}.
+     */
+    public static TimelineEntry of(String ownerId, Post post) {
+        return TimelineEntry.builder()
+                .ownerId(ownerId)
+                .postId(post.getId())
+                .authorId(post.getUserId())
+                .content(post.getContent())
+                .publicationDate(post.getPublicationDate())
+                .build();
+    }
+}
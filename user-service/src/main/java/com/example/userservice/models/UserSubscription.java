@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -13,6 +15,10 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document("user_subscriptions")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_follower_unique_idx", def = "{'userId': 1, 'followerId': 1}", unique = true),
+        @CompoundIndex(name = "follower_user_idx", def = "{'followerId': 1, 'userId': 1}")
+})
 public class UserSubscription {
 
     @Id
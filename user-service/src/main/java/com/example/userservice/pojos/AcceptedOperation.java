@@ -0,0 +1,17 @@
+package com.example.userservice.pojos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcceptedOperation {
+    /**
+     * Id of the queued write, as logged when it is persisted or fails.
+     */
+    private String operationId;
+}
@@ -0,0 +1,44 @@
+package com.example.userservice.pojos;
+
+import com.example.userservice.models.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPage {
+    @Builder.Default
+    private List<Comment> comments = new ArrayList<>();
+
+    /**
+     * Opaque cursor of the next page, {@code null} when there are no more comments.
+     */
+    private String nextCursor;
+
+    /**
+     * Wraps a page of comments read with a page size of {@code size}. A full page gets the
+     * cursor of its last comment, a shorter page is the last one.
+     *
+     * @param comments The comments of the page, newest first.
+     * @param size     The requested page size.
+     * @return The page with its next cursor.
+     */
+    public static CommentPage of(List<Comment> comments, int size) {
+        String nextCursor = null;
+        if (!comments.isEmpty() && comments.size() == size) {
+            Comment last = comments.getLast();
+            nextCursor = PageCursor.of(last.getPublicationDate(), last.getId()).encode();
+        }
+        return CommentPage.builder()
+                .comments(comments)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
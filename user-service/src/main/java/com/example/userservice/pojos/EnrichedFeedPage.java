@@ -0,0 +1,23 @@
+package com.example.userservice.pojos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrichedFeedPage {
+    @Builder.Default
+    private List<EnrichedPost> posts = new ArrayList<>();
+
+    /**
+     * Opaque cursor of the next page, {@code null} when there are no more posts.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.userservice.pojos;
+
+import com.example.userservice.models.Post;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrichedPost {
+    /**
+     * The post with its current like and comment counts, serialized inline.
+     */
+    @JsonUnwrapped
+    private Post post;
+
+    /**
+     * Whether the user reading the feed has liked the post.
+     */
+    private boolean likedByViewer;
+}
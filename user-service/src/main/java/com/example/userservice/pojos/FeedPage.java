@@ -0,0 +1,45 @@
+package com.example.userservice.pojos;
+
+import com.example.userservice.models.Post;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedPage {
+    @Builder.Default
+    private List<Post> posts = new ArrayList<>();
+
+    /**
+     * Opaque cursor of the next page, {@code null} when there are no more posts.
+     */
+    private String nextCursor;
+
+    /**
+     * Wraps a page of posts read with a page size of {@code size}. A full page gets the cursor
+     * of its last post, a shorter page is the last one. Post ids are time-ordered, so the
+     * cursor only carries the id.
+     *
+     * @param posts The posts of the page, newest first.
+     * @param size  The requested page size.
+     * @return The page with its next cursor.
+     */
+    public static FeedPage of(List<Post> posts, int size) {
+        String nextCursor = null;
+        if (!posts.isEmpty() && posts.size() == size) {
+            Post last = posts.getLast();
+            nextCursor = PageCursor.ofId(last.getId()).encode();
+        }
+        return FeedPage.builder()
+                .posts(posts)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
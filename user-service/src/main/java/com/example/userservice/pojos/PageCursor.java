@@ -0,0 +1,73 @@
+package com.example.userservice.pojos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last item of a page in a feed ordered by (publicationDate desc, id desc),
+ * or by id alone for collections whose ids are time-ordered (then {@code publicationDate}
+ * is {@code null}). The next page starts strictly after this position, so it can be read
+ * with an indexed range query instead of skipping the previous pages. Clients only see the
+ * opaque {@link #encode() encoded} form.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime publicationDate;
+    private String id;
+
+    public static PageCursor of(LocalDateTime publicationDate, String id) {
+        return new PageCursor(publicationDate, id);
+    }
+
+    public static PageCursor ofId(String id) {
+        return new PageCursor(null, id);
+    }
+
+    /**
+     * Encodes this cursor into the opaque, URL-safe token handed out to clients.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = (publicationDate == null ? "" : publicationDate.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The encoded cursor, may be {@code null} or blank for the first page.
+     * @return The decoded cursor, or {@code null} when no token was supplied.
+     * @throws ResponseStatusException with {@link HttpStatus#BAD_REQUEST} when the token is malformed.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Missing cursor separator");
+            }
+            LocalDateTime publicationDate = separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator));
+            return new PageCursor(publicationDate, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
+    }
+}
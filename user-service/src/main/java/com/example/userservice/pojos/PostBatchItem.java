@@ -0,0 +1,15 @@
+package com.example.userservice.pojos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostBatchItem {
+    private String userId;
+    private String content;
+}
@@ -0,0 +1,36 @@
+package com.example.userservice.pojos;
+
+import com.example.userservice.models.Post;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch post creation, reported at the same index as the request item.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostBatchResult {
+    private int index;
+    private Status status;
+    private Post post;
+    private String error;
+
+    public static PostBatchResult created(int index, Post post) {
+        return new PostBatchResult(index, Status.CREATED, post, null);
+    }
+
+    public static PostBatchResult failed(int index, String error) {
+        return new PostBatchResult(index, Status.FAILED, null, error);
+    }
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
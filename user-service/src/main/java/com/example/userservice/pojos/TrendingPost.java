@@ -0,0 +1,19 @@
+package com.example.userservice.pojos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPost {
+    private String postId;
+
+    /**
+     * Estimated number of likes and comments the post received within the trending window.
+     */
+    private long score;
+}
@@ -3,6 +3,8 @@ package com.example.userservice.repositories;
 import com.example.userservice.models.Comment;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface CommentRepository extends MongoRepository<Comment, String> {
-    void deleteByIdAndUserId(String commentId, String userId);
+import java.util.List;
+
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
+    List<Comment> deleteByIdAndUserId(String commentId, String userId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.pojos.PageCursor;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+    List<Comment> findPageByPostId(String postId, PageCursor after, int limit);
+
+    List<Comment> insertAllIfAbsent(List<Comment> comments);
+}
@@ -0,0 +1,63 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.pojos.PageCursor;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Reads one page of the comments of a post, newest first, starting strictly after the
+     * cursor. The (postId, publicationDate, _id) index makes every page a bounded index range
+     * scan, however deep into the thread it is.
+     */
+    @Override
+    public List<Comment> findPageByPostId(String postId, PageCursor after, int limit) {
+        return mongoTemplate.find(KeysetQueries.page(Criteria.where("postId").is(postId), "id", after, limit), Comment.class);
+    }
+
+    /**
+     * Inserts many comments with one unordered bulk write. The comments must carry their ids,
+     * so that inserting the same comment again fails on the {@code _id} index instead of
+     * creating a copy; such duplicates are skipped and every other error is rethrown.
+     *
+     * @param comments The comments to insert, with their ids assigned.
+     * @return The comments that were inserted by this call, in order.
+     */
+    @Override
+    public List<Comment> insertAllIfAbsent(List<Comment> comments) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        bulk.insert(comments);
+        try {
+            bulk.execute();
+            return comments;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
+            }
+            return IntStream.range(0, comments.size())
+                    .filter(index -> !duplicates.contains(index))
+                    .mapToObj(comments::get)
+                    .toList();
+        }
+    }
+}
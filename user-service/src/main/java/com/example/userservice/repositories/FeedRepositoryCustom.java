@@ -0,0 +1,33 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface FeedRepositoryCustom {
+    List<Post> findPageByUserId(String userId, PageCursor after, int limit);
+
+    List<Post> findPageByUserIdIn(Collection<String> userIds, PageCursor after, int limit);
+
+    List<Post> findHomeFeedPage(String followerId, PageCursor after, int limit);
+
+    Stream<Post> streamByUserId(String userId, int batchSize);
+
+    Map<Integer, String> insertAllUnordered(List<Post> posts);
+
+    List<Post> findAllByIdInOrder(List<String> ids);
+
+    void incrementCommentCount(String postId, long delta);
+
+    void incrementLikeCounts(Map<String, Long> deltas);
+
+    void markLikeCountDirty(String postId);
+
+    Map<String, Long> findLikeCountDirtyMarks();
+
+    void settleLikeCounts(Map<String, Long> counts, Map<String, Long> marks);
+}
@@ -0,0 +1,200 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.pojos.PageCursor;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class FeedRepositoryCustomImpl implements FeedRepositoryCustom {
+
+    private static final Document NEWEST_FIRST = new Document("_id", -1);
+
+    /**
+     * Counter of the marks left on a post whose like count may lack changes that were only held
+     * in memory. The field is absent on posts whose count is known to be exact.
+     */
+    static final String LIKE_COUNT_DIRTY = "likeCountDirty";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Post> findPageByUserId(String userId, PageCursor after, int limit) {
+        return mongoTemplate.find(KeysetQueries.pageById(Criteria.where("userId").is(userId), "id", after, limit), Post.class);
+    }
+
+    @Override
+    public List<Post> findPageByUserIdIn(Collection<String> userIds, PageCursor after, int limit) {
+        return mongoTemplate.find(KeysetQueries.pageById(Criteria.where("userId").in(userIds), "id", after, limit), Post.class);
+    }
+
+    /**
+     * Walks every post of a user, newest first, over a single server-side cursor that fetches
+     * {@code batchSize} documents per round trip. The returned stream holds the cursor open and
+     * must be closed.
+     */
+    @Override
+    public Stream<Post> streamByUserId(String userId, int batchSize) {
+        Query query = Query.query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "id"))
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Post.class);
+    }
+
+    /**
+     * Reads posts by id in one query and returns them in the order of {@code ids}. Ids without
+     * a post are skipped.
+     */
+    @Override
+    public List<Post> findAllByIdInOrder(List<String> ids) {
+        Map<String, Post> postsById = mongoTemplate.find(Query.query(Criteria.where("id").in(ids)), Post.class)
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void incrementCommentCount(String postId, long delta) {
+        increment(postId, "commentCount", delta);
+    }
+
+    /**
+     * Applies the like count changes of many posts with one unordered bulk write, and marks their
+     * like counts dirty until the next reconciliation.
+     *
+     * @param deltas The change of the like count, by post id.
+     */
+    @Override
+    public void incrementLikeCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        deltas.forEach((postId, delta) ->
+                bulk.updateOne(Query.query(Criteria.where("id").is(postId)), new Update().inc("likeCount", delta).inc(LIKE_COUNT_DIRTY, 1)));
+        bulk.execute();
+    }
+
+    @Override
+    public void markLikeCountDirty(String postId) {
+        increment(postId, LIKE_COUNT_DIRTY, 1);
+    }
+
+    /**
+     * @return The current dirty mark of every post whose like count is marked dirty, by post id.
+     */
+    @Override
+    public Map<String, Long> findLikeCountDirtyMarks() {
+        Query query = Query.query(Criteria.where(LIKE_COUNT_DIRTY).exists(true));
+        query.fields().include(LIKE_COUNT_DIRTY);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Post.class))
+                .stream()
+                .collect(Collectors.toMap(post -> post.get("_id").toString(),
+                        post -> post.get(LIKE_COUNT_DIRTY, Number.class).longValue()));
+    }
+
+    /**
+     * Overwrites the like counts of many posts and removes their dirty marks with one unordered
+     * bulk write. A post marked again since its mark was read, by a flush or a new pending change
+     * on any instance, keeps both its stored count and its mark, because the recount may already
+     * be behind it.
+     *
+     * @param counts The recounted like count, by post id.
+     * @param marks  The dirty mark read for each post before the recount, by post id.
+     */
+    @Override
+    public void settleLikeCounts(Map<String, Long> counts, Map<String, Long> marks) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        counts.forEach((postId, count) -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(postId).and(LIKE_COUNT_DIRTY).is(marks.get(postId))),
+                new Update().set("likeCount", count).unset(LIKE_COUNT_DIRTY)));
+        bulk.execute();
+    }
+
+    /**
+     * Applies {@code $inc} to a counter of a post on the server, so concurrent interactions never
+     * overwrite each other's updates and the post does not have to be read first.
+     */
+    private void increment(String postId, String counter, long delta) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(postId)), new Update().inc(counter, delta), Post.class);
+    }
+
+    /**
+     * Inserts all posts with one unordered bulk write, so a rejected document does not stop the
+     * remaining ones from being written.
+     *
+     * @return The error message of every rejected post, by its index in {@code posts}.
+     */
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Post> posts) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)
+                    .insert(posts)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+    }
+
+    /**
+     * Assembles one page of a home feed in a single aggregation on {@code user_subscriptions}:
+     * the follower's subscriptions are joined with at most one page of posts per followed user,
+     * using the (userId, _id) index, and the joined posts are sorted and cut to the page size
+     * on the server.
+     */
+    @Override
+    public List<Post> findHomeFeedPage(String followerId, PageCursor after, int limit) {
+        List<Document> postsPipeline = new ArrayList<>();
+        if (after != null) {
+            postsPipeline.add(new Document("$match", new Document("_id", new Document("$lt", after.getId()))));
+        }
+        postsPipeline.add(new Document("$sort", NEWEST_FIRST));
+        postsPipeline.add(new Document("$limit", limit));
+
+        Document lookup = new Document("from", mongoTemplate.getCollectionName(Post.class))
+                .append("localField", "userId")
+                .append("foreignField", "userId")
+                .append("pipeline", postsPipeline)
+                .append("as", "posts");
+
+        List<AggregationOperation> operations = List.of(
+                Aggregation.match(Criteria.where("followerId").is(followerId)),
+                context -> new Document("$lookup", lookup),
+                context -> new Document("$unwind", "$posts"),
+                context -> new Document("$replaceRoot", new Document("newRoot", "$posts")),
+                context -> new Document("$sort", NEWEST_FIRST),
+                Aggregation.limit(limit)
+        );
+        return mongoTemplate.aggregate(Aggregation.newAggregation(operations),
+                        mongoTemplate.getCollectionName(UserSubscription.class), Post.class)
+                .getMappedResults();
+    }
+}
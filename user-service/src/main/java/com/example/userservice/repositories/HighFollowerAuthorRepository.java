@@ -0,0 +1,7 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.HighFollowerAuthor;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface HighFollowerAuthorRepository extends MongoRepository<HighFollowerAuthor, String> {
+}
@@ -0,0 +1,56 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.pojos.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Builds keyset (seek) queries over collections ordered by (publicationDate desc, id desc),
+ * or by a time-ordered id alone. Each page starts strictly after the cursor, so reading
+ * page N costs the same as page 1 as long as the base criteria and the sort are backed by
+ * a compound index.
+ */
+final class KeysetQueries {
+
+    static final String PUBLICATION_DATE = "publicationDate";
+
+    private KeysetQueries() {
+    }
+
+    /**
+     * @param base    The equality criteria selecting the feed, e.g. {@code userId = ?}.
+     * @param idField The tie-breaking field, unique within the feed.
+     * @param after   The cursor of the previous page, or {@code null} for the first page.
+     * @param limit   The page size.
+     * @return A query for the next page.
+     */
+    static Query page(Criteria base, String idField, PageCursor after, int limit) {
+        Criteria criteria = base;
+        if (after != null) {
+            criteria = new Criteria().andOperator(base, new Criteria().orOperator(
+                    Criteria.where(PUBLICATION_DATE).lt(after.getPublicationDate()),
+                    Criteria.where(PUBLICATION_DATE).is(after.getPublicationDate()).and(idField).lt(after.getId())));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, PUBLICATION_DATE, idField))
+                .limit(limit);
+    }
+
+    /**
+     * @param base    The equality criteria selecting the feed, e.g. {@code userId = ?}.
+     * @param idField The time-ordered id field the feed is sorted by.
+     * @param after   The cursor of the previous page, or {@code null} for the first page.
+     * @param limit   The page size.
+     * @return A query for the next page, sorted by {@code idField} descending.
+     */
+    static Query pageById(Criteria base, String idField, PageCursor after, int limit) {
+        Criteria criteria = base;
+        if (after != null) {
+            criteria = new Criteria().andOperator(base, Criteria.where(idField).lt(after.getId()));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, idField))
+                .limit(limit);
+    }
+}
@@ -3,8 +3,11 @@ package com.example.userservice.repositories;
 import com.example.userservice.models.Like;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface LikeRepository extends MongoRepository<Like, String> {
-    boolean existsByPostIdAndUserId(String postId, String userId);
+import java.util.Collection;
+import java.util.List;
 
-    void deleteByPostIdAndUserId(String postId, String userId);
+public interface LikeRepository extends MongoRepository<Like, String>, LikeRepositoryCustom {
+    List<Like> findByUserIdAndPostIdIn(String userId, Collection<String> postIds);
+
+    long deleteByPostIdAndUserId(String postId, String userId);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Like;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface LikeRepositoryCustom {
+    String insertIfAbsent(String postId, String userId);
+
+    Map<String, Long> writeAll(List<Like> likes, List<Like> unlikes);
+
+    Map<String, Long> countByPostIdIn(Collection<String> postIds);
+}
@@ -0,0 +1,124 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Like;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class LikeRepositoryCustomImpl implements LikeRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the like of a post by a user with a single upsert, relying on the unique
+     * (postId, userId) index instead of checking for an existing like first. When two requests
+     * race, the one that loses gets a duplicate key error, which means the like already exists.
+     *
+     * @param postId The id of the liked post.
+     * @param userId The id of the user who likes the post.
+     * @return The id of the created like, or {@code null} if the user had already liked the post.
+     */
+    @Override
+    public String insertIfAbsent(String postId, String userId) {
+        try {
+            UpdateResult result = mongoTemplate.upsert(byPostAndUser(postId, userId), setOnInsert(postId, userId), Like.class);
+            if (result.getUpsertedId() == null) {
+                return null;
+            }
+            return result.getUpsertedId().asObjectId().getValue().toHexString();
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes many likes and unlikes with one unordered bulk write: an upsert per like and a
+     * delete per unlike. The unlikes that match an existing like are looked up first with a
+     * single query, because an unordered bulk write only reports the total deleted count.
+     * An upsert that loses a race with a concurrent like fails with a duplicate key error and
+     * is skipped, since the like exists; any other write error is rethrown, so the caller can
+     * keep or retry the batch.
+     *
+     * @param likes   The likes to create, if absent.
+     * @param unlikes The likes to delete, if present.
+     * @return The change of the like count, by post id, caused by the write.
+     */
+    @Override
+    public Map<String, Long> writeAll(List<Like> likes, List<Like> unlikes) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (!unlikes.isEmpty()) {
+            Criteria[] pairs = unlikes.stream()
+                    .map(like -> Criteria.where("postId").is(like.getPostId()).and("userId").is(like.getUserId()))
+                    .toArray(Criteria[]::new);
+            mongoTemplate.find(Query.query(new Criteria().orOperator(pairs)), Like.class)
+                    .forEach(existing -> deltas.merge(existing.getPostId(), -1L, Long::sum));
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Like.class);
+        likes.forEach(like -> bulk.upsert(byPostAndUser(like.getPostId(), like.getUserId()), setOnInsert(like.getPostId(), like.getUserId())));
+        unlikes.forEach(like -> bulk.remove(byPostAndUser(like.getPostId(), like.getUserId())));
+
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            result = e.getResult();
+        }
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            deltas.merge(likes.get(upsert.getIndex()).getPostId(), 1L, Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    /**
+     * Counts the likes of many posts with one aggregation over the (postId, userId) index.
+     *
+     * @param postIds The ids of the posts.
+     * @return The number of likes, by post id. Posts without likes are absent from the map.
+     */
+    @Override
+    public Map<String, Long> countByPostIdIn(Collection<String> postIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("postId").in(postIds)),
+                Aggregation.group("postId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, Like.class, Document.class)
+                .forEach(result -> counts.put(result.getString("_id"), ((Number) result.get("count")).longValue()));
+        return counts;
+    }
+
+    private static Query byPostAndUser(String postId, String userId) {
+        return Query.query(Criteria.where("postId").is(postId).and("userId").is(userId));
+    }
+
+    private static Update setOnInsert(String postId, String userId) {
+        return new Update()
+                .setOnInsert("postId", postId)
+                .setOnInsert("userId", userId);
+    }
+}
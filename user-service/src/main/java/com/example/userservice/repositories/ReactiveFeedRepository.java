@@ -0,0 +1,7 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Post;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveFeedRepository extends ReactiveMongoRepository<Post, String>, ReactiveFeedRepositoryCustom {
+}
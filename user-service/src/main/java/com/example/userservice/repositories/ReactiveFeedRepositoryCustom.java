@@ -0,0 +1,13 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveFeedRepositoryCustom {
+    Flux<Post> findPageByUserId(String userId, PageCursor after, int limit);
+
+    Flux<Post> findPageByUserIdIn(Collection<String> userIds, PageCursor after, int limit);
+}
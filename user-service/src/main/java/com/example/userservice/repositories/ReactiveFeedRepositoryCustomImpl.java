@@ -0,0 +1,26 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ReactiveFeedRepositoryCustomImpl implements ReactiveFeedRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Post> findPageByUserId(String userId, PageCursor after, int limit) {
+        return reactiveMongoTemplate.find(KeysetQueries.pageById(Criteria.where("userId").is(userId), "id", after, limit), Post.class);
+    }
+
+    @Override
+    public Flux<Post> findPageByUserIdIn(Collection<String> userIds, PageCursor after, int limit) {
+        return reactiveMongoTemplate.find(KeysetQueries.pageById(Criteria.where("userId").in(userIds), "id", after, limit), Post.class);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.TimelineEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TimelineRepository extends MongoRepository<TimelineEntry, String>, TimelineRepositoryCustom {
+}
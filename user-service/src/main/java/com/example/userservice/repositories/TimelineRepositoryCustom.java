@@ -0,0 +1,12 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.pojos.PageCursor;
+
+import java.util.List;
+
+public interface TimelineRepositoryCustom {
+    List<TimelineEntry> findPageByOwnerId(String ownerId, PageCursor after, int limit);
+
+    void appendAll(List<TimelineEntry> entries);
+}
@@ -0,0 +1,59 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.pojos.PageCursor;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TimelineRepositoryCustomImpl implements TimelineRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<TimelineEntry> findPageByOwnerId(String ownerId, PageCursor after, int limit) {
+        return mongoTemplate.find(KeysetQueries.pageById(Criteria.where("ownerId").is(ownerId), "postId", after, limit),
+                TimelineEntry.class);
+    }
+
+    /**
+     * Writes the entries with one unordered bulk of upserts keyed by (ownerId, postId), so a post
+     * that reaches a timeline both through fan-out and through a backfill is stored once. When
+     * both upsert the same entry at the same time, the unique index rejects one of them with a
+     * duplicate key error, which means the entry is already there; any other error is rethrown.
+     */
+    @Override
+    public void appendAll(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimelineEntry.class);
+        for (TimelineEntry entry : entries) {
+            Query query = Query.query(Criteria.where("ownerId").is(entry.getOwnerId()).and("postId").is(entry.getPostId()));
+            Update update = new Update()
+                    .setOnInsert("authorId", entry.getAuthorId())
+                    .setOnInsert("content", entry.getContent())
+                    .setOnInsert("publicationDate", entry.getPublicationDate());
+            bulk.upsert(query, update);
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -4,11 +4,16 @@ import com.example.userservice.models.UserSubscription;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserSubscriptionRepository extends MongoRepository<UserSubscription, String> {
     List<UserSubscription> findByUserId(String userId);
 
+    long countByUserId(String userId);
+
     List<UserSubscription> findByFollowerId(String followerId);
 
     boolean existsByUserIdAndFollowerId(String userId, String followerId);
+
+    Stream<UserSubscription> findAllByOrderByUserIdAsc();
 }
\ No newline at end of file
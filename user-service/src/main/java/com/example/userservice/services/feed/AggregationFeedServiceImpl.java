@@ -0,0 +1,67 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
+import com.example.userservice.repositories.FeedRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link FeedService} that assembles home feeds with one aggregation over the follower's
+ * subscriptions instead of reading followees and posts in two round trips. Selected with
+ * {@code feed.read-strategy=aggregation}. Every other operation is delegated to
+ * {@link FeedServiceImpl}. Home feeds are read from the posts collection directly, so
+ * nothing would read the timelines that fan-out writes: startup fails unless
+ * {@code feed.fanout.enabled=false}. Identical concurrent reads share one aggregation.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "feed.read-strategy", havingValue = "aggregation")
+public class AggregationFeedServiceImpl implements FeedService {
+
+    private final FeedServiceImpl feedServiceImpl;
+    private final FeedRepository feedRepository;
+
+    private final SingleFlight<HomeFeedQuery, FeedPage> homeFeedQueries = new SingleFlight<>();
+
+    public AggregationFeedServiceImpl(FeedServiceImpl feedServiceImpl,
+                                      FeedRepository feedRepository,
+                                      @Value("${feed.fanout.enabled:false}") boolean fanoutEnabled) {
+        if (fanoutEnabled) {
+            throw new IllegalArgumentException("feed.read-strategy=aggregation requires feed.fanout.enabled=false");
+        }
+        this.feedServiceImpl = feedServiceImpl;
+        this.feedRepository = feedRepository;
+    }
+
+    @Override
+    public Post createPost(String userId, String content) {
+        return feedServiceImpl.createPost(userId, content);
+    }
+
+    @Override
+    public List<PostBatchResult> createPosts(List<PostBatchItem> items) {
+        return feedServiceImpl.createPosts(items);
+    }
+
+    @Override
+    public FeedPage getUserFeed(String userId, PageCursor cursor, int size) {
+        return homeFeedQueries.execute(new HomeFeedQuery(userId, cursor, size),
+                () -> FeedPage.of(feedRepository.findHomeFeedPage(userId, cursor, size), size));
+    }
+
+    @Override
+    public FeedPage getSpecificUserFeed(String userId, PageCursor cursor, int size) {
+        return feedServiceImpl.getSpecificUserFeed(userId, cursor, size);
+    }
+
+    private record HomeFeedQuery(String userId, PageCursor cursor, int size) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Like;
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.EnrichedFeedPage;
+import com.example.userservice.pojos.EnrichedPost;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.interaction.LikeCounterTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Enriches a feed page with the like count, the comment count and the viewer's like of every
+ * post. The whole page costs at most two MongoDB queries, whatever its size: the counters come
+ * from the posts themselves through the {@link PostCache}, which reads all missing posts with one
+ * {@code $in}, and the viewer's likes of the page are read with a second {@code $in}.
+ * Like count changes that the {@link LikeCounterTable} has not written yet are added on top.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedHydrator {
+
+    private final PostCache postCache;
+    private final LikeRepository likeRepository;
+    private final LikeCounterTable likeCounterTable;
+
+    /**
+     * @param page     The page to enrich.
+     * @param viewerId The id of the user reading the page.
+     * @return The enriched page, in the order of the given page and with its cursor.
+     */
+    public EnrichedFeedPage hydrate(FeedPage page, String viewerId) {
+        List<Post> posts = page.getPosts();
+        if (posts.isEmpty()) {
+            return EnrichedFeedPage.builder().nextCursor(page.getNextCursor()).build();
+        }
+
+        List<String> postIds = posts.stream().map(Post::getId).distinct().toList();
+        Map<String, Post> storedPosts = postCache.getAll(postIds);
+        Set<String> likedPostIds = likeRepository.findByUserIdAndPostIdIn(viewerId, postIds)
+                .stream()
+                .map(Like::getPostId)
+                .collect(Collectors.toSet());
+        log.debug("Hydrated {} posts for {}: {} liked", posts.size(), viewerId, likedPostIds.size());
+
+        List<EnrichedPost> enrichedPosts = posts.stream()
+                .map(post -> EnrichedPost.builder()
+                        .post(withCounters(post, storedPosts.get(post.getId())))
+                        .likedByViewer(likedPostIds.contains(post.getId()))
+                        .build())
+                .toList();
+        return EnrichedFeedPage.builder()
+                .posts(enrichedPosts)
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Posts read from timelines are copies made at fan-out time, so their counters are taken
+     * from the stored post.
+     */
+    private Post withCounters(Post post, Post storedPost) {
+        Post counted = storedPost == null ? post : storedPost;
+        return post.toBuilder()
+                .likeCount(counted.getLikeCount() + likeCounterTable.pendingDelta(post.getId()))
+                .commentCount(counted.getCommentCount())
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Merges several feeds that are each already sorted newest first into a single page,
+ * using a heap over the heads of the streams (k-way merge). Posts that show up in more
+ * than one stream are only emitted once.
+ */
+final class FeedMerger {
+
+    static final Comparator<Post> NEWEST_FIRST = Comparator
+            .comparing(Post::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private FeedMerger() {
+    }
+
+    /**
+     * Merges the given sorted streams and returns the first page of the merged result.
+     *
+     * @param streams The feeds to merge, each sorted with {@link #NEWEST_FIRST}.
+     * @param limit   The maximum number of posts to return.
+     * @return The merged page, newest first, without duplicate post ids.
+     */
+    static List<Post> merge(List<List<Post>> streams, int limit) {
+        PriorityQueue<StreamHead> heads = new PriorityQueue<>(Math.max(1, streams.size()),
+                (a, b) -> NEWEST_FIRST.compare(a.current(), b.current()));
+        for (List<Post> stream : streams) {
+            if (!stream.isEmpty()) {
+                heads.add(new StreamHead(stream));
+            }
+        }
+
+        List<Post> page = new ArrayList<>(limit);
+        Set<String> seenIds = new HashSet<>();
+        while (!heads.isEmpty() && page.size() < limit) {
+            StreamHead head = heads.poll();
+            Post post = head.current();
+            if (post.getId() == null || seenIds.add(post.getId())) {
+                page.add(post);
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return page;
+    }
+
+    private static final class StreamHead {
+        private final List<Post> stream;
+        private int position;
+
+        private StreamHead(List<Post> stream) {
+            this.stream = stream;
+        }
+
+        private Post current() {
+            return stream.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < stream.size();
+        }
+    }
+}
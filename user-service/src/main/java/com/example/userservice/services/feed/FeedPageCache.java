@@ -0,0 +1,186 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.services.subscription.FollowingCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response cache for the first page of home feeds and user feeds. Pages are stored already
+ * serialized to JSON, and gzip-compressed when large enough, in an off-heap {@link SlabStore},
+ * so a hit neither queries MongoDB nor runs Jackson. Every page is tagged with the authors whose
+ * posts it may contain and is dropped as soon as one of them publishes, or, for home feeds, when
+ * the reader follows someone new. A page whose tags were invalidated while it was loaded is
+ * not stored, so a post published during the read is not hidden for the time to live, which only
+ * bounds staleness for changes made through another instance.
+ * <p>
+ * The slab budget is split over {@code feed.page-cache.segments} stores, picked by key, so
+ * concurrent hits on different pages rarely wait for the same lock.
+ */
+@Slf4j
+@Component
+public class FeedPageCache {
+
+    private static final String AUTHOR_TAG = "author:";
+    private static final String READER_TAG = "reader:";
+
+    private final ObjectMapper objectMapper;
+    private final FollowingCache followingCache;
+    private final SlabStore[] segments;
+    private final boolean enabled;
+    private final boolean gzip;
+    private final int gzipMinSize;
+    private final long ttlMillis;
+
+    public FeedPageCache(ObjectMapper objectMapper,
+                         FollowingCache followingCache,
+                         @Value("${feed.page-cache.enabled:true}") boolean enabled,
+                         @Value("${feed.page-cache.block-size:4KB}") DataSize blockSize,
+                         @Value("${feed.page-cache.slab-size:1MB}") DataSize slabSize,
+                         @Value("${feed.page-cache.max-slabs:32}") int maxSlabs,
+                         @Value("${feed.page-cache.segments:8}") int segmentCount,
+                         @Value("${feed.page-cache.gzip:true}") boolean gzip,
+                         @Value("${feed.page-cache.gzip-min-size:1KB}") DataSize gzipMinSize,
+                         @Value("${feed.page-cache.ttl:30s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.followingCache = followingCache;
+        this.segments = new SlabStore[Math.max(1, Math.min(segmentCount, maxSlabs))];
+        for (int i = 0; i < segments.length; i++) {
+            int segmentSlabs = maxSlabs / segments.length + (i < maxSlabs % segments.length ? 1 : 0);
+            segments[i] = new SlabStore((int) blockSize.toBytes(), (int) slabSize.toBytes(), segmentSlabs);
+        }
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Returns the encoded first page of a user's home feed, loading and caching it on a miss.
+     *
+     * @param userId The id of the reader.
+     * @param size   The page size.
+     * @param loader Reads the page when it is not cached.
+     * @return The encoded page.
+     */
+    public CachedPage getHomeFeed(String userId, int size, Supplier<FeedPage> loader) {
+        return getOrLoad("home:" + userId + ":" + size, () -> {
+            List<String> followedUserIds = followingCache.getFollowedUserIds(userId);
+            List<String> tags = new ArrayList<>(followedUserIds.size() + 1);
+            tags.add(READER_TAG + userId);
+            followedUserIds.forEach(authorId -> tags.add(AUTHOR_TAG + authorId));
+            return tags;
+        }, loader);
+    }
+
+    /**
+     * Returns the encoded first page of the posts written by a user, loading and caching it on a miss.
+     *
+     * @param userId The id of the author.
+     * @param size   The page size.
+     * @param loader Reads the page when it is not cached.
+     * @return The encoded page.
+     */
+    public CachedPage getUserFeed(String userId, int size, Supplier<FeedPage> loader) {
+        return getOrLoad("user:" + userId + ":" + size, () -> List.of(AUTHOR_TAG + userId), loader);
+    }
+
+    /**
+     * Drops every cached page that may contain posts of the given author.
+     *
+     * @param authorId The id of the author who published a post.
+     */
+    public void invalidateAuthor(String authorId) {
+        invalidateTag(AUTHOR_TAG + authorId);
+    }
+
+    /**
+     * Drops the cached home feed pages of the given reader.
+     *
+     * @param userId The id of the reader whose subscriptions changed.
+     */
+    public void invalidateReader(String userId) {
+        invalidateTag(READER_TAG + userId);
+    }
+
+    private void invalidateTag(String tag) {
+        for (SlabStore segment : segments) {
+            segment.invalidateTag(tag);
+        }
+    }
+
+    private CachedPage getOrLoad(String key, Supplier<List<String>> tags, Supplier<FeedPage> loader) {
+        if (!enabled) {
+            return encode(loader.get());
+        }
+        SlabStore store = segments[Math.floorMod(key.hashCode(), segments.length)];
+        CachedPage cached = store.get(key, System.currentTimeMillis());
+        if (cached != null) {
+            return cached;
+        }
+
+        List<String> pageTags = tags.get();
+        long generation = store.generation(pageTags);
+        CachedPage page = encode(loader.get());
+        if (!store.put(key, pageTags, page.body(), page.gzipped(), System.currentTimeMillis() + ttlMillis, generation)) {
+            log.warn("Feed page {} of {} bytes does not fit into the page cache", key, page.body().length);
+        }
+        return page;
+    }
+
+    private CachedPage encode(FeedPage page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            if (!gzip || json.length < gzipMinSize) {
+                return new CachedPage(json, false);
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            return new CachedPage(compressed.toByteArray(), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feed page", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A feed page encoded as JSON.
+     *
+     * @param body    The encoded page.
+     * @param gzipped Whether {@code body} is gzip-compressed.
+     */
+    public record CachedPage(byte[] body, boolean gzipped) {
+
+        /**
+         * @return The JSON bytes of the page, decompressed if needed.
+         */
+        public byte[] plainBody() {
+            if (!gzipped) {
+                return body;
+            }
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.userservice.services.feed;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the chunk queries of a home feed read concurrently, on at most
+ * {@code feed.pull.executor.max-threads} threads reserved for them. There is no queue: when every
+ * thread is busy, the query runs on the request thread instead, so a feed read never waits behind
+ * unrelated work. Threads are virtual under the {@code virtual-threads} profile. This is not an
+ * {@code Executor} bean, since any {@code Executor} bean replaces {@code applicationTaskExecutor}.
+ */
+@Component
+public class FeedQueryExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    public FeedQueryExecutor(@Value("${feed.pull.executor.max-threads:32}") int maxThreads,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("feed-query-", 0).factory()
+                : Thread.ofPlatform().name("feed-query-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @param query The query to run.
+     * @return The result of the query, computed on a feed query thread or, when all of them are
+     * busy, on the calling thread before this method returns.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.userservice.services.feed;
 
 import com.example.userservice.models.Post;
-import org.springframework.data.domain.Pageable;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
 
 import java.util.List;
 
 public interface FeedService {
     Post createPost(String userId, String content);
 
-    List<Post> getUserFeed(String userId, Pageable pageable);
+    List<PostBatchResult> createPosts(List<PostBatchItem> items);
 
-    List<Post> getSpecificUserFeed(String userId, Pageable pageable);
-}
\ No newline at end of file
+    FeedPage getUserFeed(String userId, PageCursor cursor, int size);
+
+    FeedPage getSpecificUserFeed(String userId, PageCursor cursor, int size);
+}
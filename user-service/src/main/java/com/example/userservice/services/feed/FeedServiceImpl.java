@@ -1,16 +1,33 @@
 package com.example.userservice.services.feed;
 
 import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
 import com.example.userservice.models.UserSubscription;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
 import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.TimelineRepository;
 import com.example.userservice.repositories.UserSubscriptionRepository;
+import com.example.userservice.services.ids.PostIdGenerator;
+import com.example.userservice.services.subscription.FollowingCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +37,27 @@ public class FeedServiceImpl implements FeedService {
 
     private final FeedRepository feedRepository;
     private final UserSubscriptionRepository userSubscriptionRepository;
+    private final TimelineRepository timelineRepository;
+    private final HighFollowerAuthorCache highFollowerAuthorCache;
+    private final FollowingCache followingCache;
+    private final FeedPageCache feedPageCache;
+    private final PostCache postCache;
+    private final PostIdGenerator postIdGenerator;
+    private final FeedQueryExecutor feedQueryExecutor;
+
+    private final SingleFlight<FeedQuery, FeedPage> feedQueries = new SingleFlight<>();
+
+    @Value("${feed.fanout.enabled:false}")
+    private boolean fanoutEnabled;
+
+    @Value("${feed.fanout.follower-threshold:10000}")
+    private long followerThreshold;
+
+    @Value("${feed.pull.chunk-size:500}")
+    private int pullChunkSize;
+
+    @Value("${feed.batch.max-size:1000}")
+    private int batchMaxSize;
 
     @Override
     public Post createPost(String userId, String content) {
@@ -29,21 +67,218 @@ public class FeedServiceImpl implements FeedService {
                 .publicationDate(LocalDateTime.now())
                 .build();
         log.info("Creating new post: {}", newPost);
-        return feedRepository.save(newPost);
+        Post savedPost = feedRepository.save(newPost);
+
+        if (fanoutEnabled) {
+            fanOut(userId, List.of(savedPost));
+        }
+        feedPageCache.invalidateAuthor(userId);
+        return savedPost;
     }
 
+    /**
+     * Creates many posts with one unordered bulk insert. Items are validated and get their ids
+     * up front; an item that fails validation or is rejected by MongoDB does not stop the others.
+     * The created posts are then fanned out once per author.
+     */
     @Override
-    public List<Post> getUserFeed(String userId, Pageable pageable) {
-        List<String> followedUserIds = userSubscriptionRepository.findByFollowerId(userId)
-                .stream()
-                .map(UserSubscription::getUserId)
-                .collect(Collectors.toList());
-        log.info("followedUserIds: {}", followedUserIds);
-        return feedRepository.findByUserIdInOrderByPublicationDateDesc(followedUserIds, pageable);
+    public List<PostBatchResult> createPosts(List<PostBatchItem> items) {
+        if (items == null || items.isEmpty() || items.size() > batchMaxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain between 1 and " + batchMaxSize + " posts");
+        }
+
+        List<PostBatchResult> results = new ArrayList<>(items.size());
+        List<Post> posts = new ArrayList<>(items.size());
+        List<Integer> postIndexes = new ArrayList<>(items.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int index = 0; index < items.size(); index++) {
+            PostBatchItem item = items.get(index);
+            if (item == null || !StringUtils.hasText(item.getUserId()) || !StringUtils.hasText(item.getContent())) {
+                results.add(PostBatchResult.failed(index, "userId and content are required"));
+                continue;
+            }
+            posts.add(Post.builder()
+                    .id(postIdGenerator.nextId())
+                    .userId(item.getUserId())
+                    .content(item.getContent())
+                    .publicationDate(now)
+                    .build());
+            postIndexes.add(index);
+            results.add(null);
+        }
+
+        Map<Integer, String> insertErrors = posts.isEmpty() ? Map.of() : feedRepository.insertAllUnordered(posts);
+        Map<String, List<Post>> createdByAuthor = new LinkedHashMap<>();
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            int index = postIndexes.get(i);
+            String error = insertErrors.get(i);
+            if (error != null) {
+                results.set(index, PostBatchResult.failed(index, error));
+            } else {
+                results.set(index, PostBatchResult.created(index, post));
+                createdByAuthor.computeIfAbsent(post.getUserId(), authorId -> new ArrayList<>()).add(post);
+            }
+        }
+        log.info("Batch of {} posts: {} created", items.size(), posts.size() - insertErrors.size());
+
+        createdByAuthor.forEach((authorId, authorPosts) -> {
+            if (fanoutEnabled) {
+                fanOut(authorId, authorPosts);
+            }
+            feedPageCache.invalidateAuthor(authorId);
+        });
+        return results;
     }
 
     @Override
-    public List<Post> getSpecificUserFeed(String userId, Pageable pageable) {
-        return feedRepository.findByUserIdOrderByPublicationDateDesc(userId, pageable);
+    public FeedPage getUserFeed(String userId, PageCursor cursor, int size) {
+        return feedQueries.execute(new FeedQuery("getUserFeed", userId, cursor, size),
+                () -> readUserFeed(userId, cursor, size));
+    }
+
+    @Override
+    public FeedPage getSpecificUserFeed(String userId, PageCursor cursor, int size) {
+        return feedQueries.execute(new FeedQuery("getSpecificUserFeed", userId, cursor, size),
+                () -> FeedPage.of(feedRepository.findPageByUserId(userId, cursor, size), size));
+    }
+
+    private FeedPage readUserFeed(String userId, PageCursor cursor, int size) {
+        List<String> followedUserIds = followingCache.getFollowedUserIds(userId);
+        log.info("followedUserIds: {}", followedUserIds);
+
+        if (!fanoutEnabled) {
+            return FeedPage.of(readFollowedAuthors(followedUserIds, cursor, size), size);
+        }
+
+        List<String> highFollowerAuthorIds = highFollowerAuthorCache.retainHighFollowerAuthors(followedUserIds);
+        if (highFollowerAuthorIds.isEmpty()) {
+            return FeedPage.of(readTimeline(userId, cursor, size), size);
+        }
+        return FeedPage.of(mergeHighFollowerPosts(userId, highFollowerAuthorIds, cursor, size), size);
+    }
+
+    /**
+     * Appends the given posts to the home timeline of every follower of their author,
+     * so that reading a home feed does not have to resolve the followed users first.
+     * Authors above the follower threshold are registered as high-follower authors instead,
+     * and their posts are merged into home feeds at read time.
+     *
+     * @param authorId The author of the posts.
+     * @param posts    The persisted posts to distribute.
+     */
+    private void fanOut(String authorId, List<Post> posts) {
+        long followerCount = userSubscriptionRepository.countByUserId(authorId);
+        if (followerCount > followerThreshold) {
+            highFollowerAuthorCache.register(authorId, followerCount);
+            log.info("Skipping fan-out of {} posts: author {} has {} followers", posts.size(), authorId, followerCount);
+            return;
+        }
+
+        List<UserSubscription> followers = userSubscriptionRepository.findByUserId(authorId);
+        List<TimelineEntry> entries = new ArrayList<>(followers.size() * posts.size());
+        for (Post post : posts) {
+            for (UserSubscription subscription : followers) {
+                entries.add(TimelineEntry.of(subscription.getFollowerId(), post));
+            }
+        }
+
+        if (!entries.isEmpty()) {
+            timelineRepository.appendAll(entries);
+            log.info("{} posts of {} fanned out to {} timelines", posts.size(), authorId, followers.size());
+        }
+    }
+
+    /**
+     * Reads one page of a materialized timeline. Timeline entries only copy the immutable fields
+     * of a post, so the like and comment counts are taken from the {@link PostCache}, which reads
+     * all missing posts of the page with one query.
+     */
+    private List<Post> readTimeline(String userId, PageCursor cursor, int size) {
+        List<TimelineEntry> entries = timelineRepository.findPageByOwnerId(userId, cursor, size);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Post> storedPosts = postCache.getAll(entries.stream().map(TimelineEntry::getPostId).toList());
+        return entries.stream()
+                .map(entry -> toPost(entry, storedPosts.get(entry.getPostId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a home feed page from the caller's materialized timeline plus the posts of the
+     * high-follower authors they follow, which are never pushed into timelines. Every stream
+     * is read concurrently from the cursor for one page and the streams are k-way merged.
+     *
+     * @param userId                The id of the user whose home feed is read.
+     * @param highFollowerAuthorIds The followed authors whose posts are pulled at read time.
+     * @param cursor                The position of the previous page, or {@code null} for the first page.
+     * @param size                  The page size.
+     * @return The merged page, newest first.
+     */
+    private List<Post> mergeHighFollowerPosts(String userId, List<String> highFollowerAuthorIds, PageCursor cursor, int size) {
+        List<Supplier<List<Post>>> streams = new ArrayList<>(highFollowerAuthorIds.size() + 1);
+        streams.add(() -> readTimeline(userId, cursor, size));
+        for (String authorId : highFollowerAuthorIds) {
+            streams.add(() -> feedRepository.findPageByUserId(authorId, cursor, size));
+        }
+        return FeedMerger.merge(readConcurrently(streams), size);
+    }
+
+    /**
+     * Reads one page of posts written by any of the given authors. Long author lists are split
+     * into chunks of {@code feed.pull.chunk-size}, so that no single {@code $in} grows with the
+     * number of followed users. The chunks are queried concurrently and k-way merged.
+     *
+     * @param authorIds The authors whose posts are read.
+     * @param cursor    The position of the previous page, or {@code null} for the first page.
+     * @param size      The page size.
+     * @return The page, newest first.
+     */
+    private List<Post> readFollowedAuthors(List<String> authorIds, PageCursor cursor, int size) {
+        if (authorIds.size() <= pullChunkSize) {
+            return feedRepository.findPageByUserIdIn(authorIds, cursor, size);
+        }
+
+        List<Supplier<List<Post>>> chunks = new ArrayList<>();
+        for (int from = 0; from < authorIds.size(); from += pullChunkSize) {
+            List<String> chunk = authorIds.subList(from, Math.min(from + pullChunkSize, authorIds.size()));
+            chunks.add(() -> feedRepository.findPageByUserIdIn(chunk, cursor, size));
+        }
+        return FeedMerger.merge(readConcurrently(chunks), size);
+    }
+
+    private List<List<Post>> readConcurrently(List<Supplier<List<Post>>> queries) {
+        List<CompletableFuture<List<Post>>> futures = queries.stream()
+                .map(feedQueryExecutor::submit)
+                .toList();
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Post toPost(TimelineEntry entry, Post storedPost) {
+        return Post.builder()
+                .id(entry.getPostId())
+                .userId(entry.getAuthorId())
+                .content(entry.getContent())
+                .publicationDate(entry.getPublicationDate())
+                .likeCount(storedPost == null ? 0 : storedPost.getLikeCount())
+                .commentCount(storedPost == null ? 0 : storedPost.getCommentCount())
+                .build();
+    }
+
+    /**
+     * Identifies a feed read for request coalescing: concurrent reads of the same page of the
+     * same feed share one MongoDB query.
+     */
+    private record FeedQuery(String method, String userId, PageCursor cursor, int size) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.HighFollowerAuthor;
+import com.example.userservice.repositories.HighFollowerAuthorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-process copy of the ids of all high-follower authors, so that building a home feed
+ * intersects the followed users with this set locally instead of querying
+ * {@code high_follower_authors} on every read. The set is small and authors rarely leave it.
+ * <p>
+ * It is loaded on first use, extended in place when this instance registers an author, and
+ * reloaded every {@code feed.fanout.high-follower-refresh-interval-ms} to pick up authors
+ * registered by other instances. Updates take a {@link ReentrantLock} rather than a monitor, since
+ * the first load queries MongoDB while holding it and a monitor would pin a virtual thread's carrier.
+ */
+@Slf4j
+@Component
+public class HighFollowerAuthorCache {
+
+    private final HighFollowerAuthorRepository highFollowerAuthorRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Set<String> authorIds;
+
+    public HighFollowerAuthorCache(HighFollowerAuthorRepository highFollowerAuthorRepository) {
+        this.highFollowerAuthorRepository = highFollowerAuthorRepository;
+    }
+
+    /**
+     * @param userIds The ids of the followed users.
+     * @return Those of {@code userIds} that are high-follower authors, in their original order.
+     */
+    public List<String> retainHighFollowerAuthors(List<String> userIds) {
+        Set<String> highFollowerAuthorIds = authorIds();
+        if (highFollowerAuthorIds.isEmpty()) {
+            return List.of();
+        }
+        return userIds.stream()
+                .filter(highFollowerAuthorIds::contains)
+                .toList();
+    }
+
+    public boolean isHighFollowerAuthor(String userId) {
+        return authorIds().contains(userId);
+    }
+
+    /**
+     * Records an author as high-follower, in MongoDB and in the local set.
+     *
+     * @param authorId      The id of the author.
+     * @param followerCount The current number of followers of the author.
+     */
+    public void register(String authorId, long followerCount) {
+        highFollowerAuthorRepository.save(HighFollowerAuthor.builder()
+                .id(authorId)
+                .followerCount(followerCount)
+                .updatedAt(LocalDateTime.now())
+                .build());
+        lock.lock();
+        try {
+            Set<String> current = authorIds();
+            if (!current.contains(authorId)) {
+                Set<String> updated = new HashSet<>(current);
+                updated.add(authorId);
+                authorIds = Set.copyOf(updated);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the set, once it has been loaded by a read. Authors are only ever added, so the
+     * reloaded ids are merged with the local ones, which keeps an author registered while the
+     * reload was running.
+     */
+    @Scheduled(fixedDelayString = "${feed.fanout.high-follower-refresh-interval-ms:60000}",
+            initialDelayString = "${feed.fanout.high-follower-refresh-interval-ms:60000}")
+    public void refresh() {
+        if (authorIds == null) {
+            return;
+        }
+        Set<String> loaded = load();
+        lock.lock();
+        try {
+            Set<String> merged = new HashSet<>(loaded);
+            merged.addAll(authorIds);
+            authorIds = Set.copyOf(merged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<String> authorIds() {
+        Set<String> ids = authorIds;
+        if (ids == null) {
+            lock.lock();
+            try {
+                if (authorIds == null) {
+                    authorIds = load();
+                }
+                ids = authorIds;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return ids;
+    }
+
+    private Set<String> load() {
+        Set<String> ids = highFollowerAuthorRepository.findAll()
+                .stream()
+                .map(HighFollowerAuthor::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        log.debug("Loaded {} high-follower authors", ids.size());
+        return ids;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.repositories.FeedRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process cache of posts by id. A lookup of many ids reads all the missing ones
+ * from MongoDB with a single query, so hydrating a list of post ids costs at most one round trip.
+ * <p>
+ * The cache is bounded by the estimated size of the cached posts rather than their number, so a
+ * few very long posts cannot crowd out the heap. Caffeine's W-TinyLFU policy only admits a new
+ * post over an eviction candidate when it is requested more often, which keeps viral posts cached
+ * while one-off reads pass through. Hit and miss counts are published as {@code cache.*} metrics
+ * tagged {@code cache=posts}. Nothing but size and age removes an entry: likes and comments
+ * update the counters of a cached post in place instead of evicting it.
+ */
+@Slf4j
+@Component
+public class PostCache {
+
+    /**
+     * Rough per-entry overhead of a cached post: object headers, references, the publication
+     * date and the cache entry itself.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final FeedRepository feedRepository;
+    private final Cache<String, Post> cache;
+
+    public PostCache(FeedRepository feedRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${feed.post-cache.maximum-weight:64MB}") DataSize maximumWeight,
+                     @Value("${feed.post-cache.ttl:10m}") Duration ttl) {
+        this.feedRepository = feedRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher(PostCache::estimateSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts");
+    }
+
+    /**
+     * @param ids The ids of the posts.
+     * @return The cached or loaded posts by id. Ids without a post are absent from the map.
+     */
+    public Map<String, Post> getAll(Collection<String> ids) {
+        return cache.getAll(ids, this::load);
+    }
+
+    /**
+     * Applies a counter change to the cached copy of a post, if it is cached. The cached post is
+     * replaced by an updated copy, so readers holding the previous instance are not affected.
+     *
+     * @param postId       The id of the post.
+     * @param likeDelta    The change of the like count.
+     * @param commentDelta The change of the comment count.
+     */
+    public void applyCounterDelta(String postId, long likeDelta, long commentDelta) {
+        cache.asMap().computeIfPresent(postId, (id, post) -> post.toBuilder()
+                .likeCount(post.getLikeCount() + likeDelta)
+                .commentCount(post.getCommentCount() + commentDelta)
+                .build());
+    }
+
+    /**
+     * Overwrites the like count of the cached copy of a post, if it is cached.
+     *
+     * @param postId    The id of the post.
+     * @param likeCount The like count.
+     */
+    public void setLikeCount(String postId, long likeCount) {
+        cache.asMap().computeIfPresent(postId, (id, post) -> post.toBuilder().likeCount(likeCount).build());
+    }
+
+    /**
+     * @return The estimated heap footprint of a cached post in bytes, assuming two bytes per character.
+     */
+    static int estimateSize(String id, Post post) {
+        long characters = (long) id.length() + length(post.getUserId()) + length(post.getContent());
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + 2 * characters);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private Map<String, Post> load(Set<? extends String> ids) {
+        List<Post> posts = feedRepository.findAllByIdInOrder(List.copyOf(ids));
+        log.debug("Loaded {} of {} posts missing from the post cache", posts.size(), ids.size());
+        return posts.stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.userservice.services.feed;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PostExportService {
+    void exportUserPosts(String userId, OutputStream out) throws IOException;
+}
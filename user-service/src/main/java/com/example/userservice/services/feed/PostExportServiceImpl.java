@@ -0,0 +1,56 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.repositories.FeedRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostExportServiceImpl implements PostExportService {
+
+    private final FeedRepository feedRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${feed.export.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Writes every post of a user to {@code out} as newline-delimited JSON, newest first. Posts are
+     * read from one MongoDB cursor and written as they arrive, flushing after every cursor batch,
+     * so memory use does not depend on the number of posts.
+     *
+     * @param userId The author whose posts are exported.
+     * @param out    The stream to write to. It is flushed but not closed.
+     * @throws IOException If writing to {@code out} fails, e.g. because the client disconnected.
+     */
+    @Override
+    public void exportUserPosts(String userId, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Post> posts = feedRepository.streamByUserId(userId, batchSize);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if (++exported % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        log.info("Exported {} posts of user {}", exported, userId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+
+import java.util.List;
+
+public interface PostService {
+    List<Post> getPostsByIds(List<String> ids);
+}
@@ -0,0 +1,48 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostServiceImpl implements PostService {
+
+    private final PostCache postCache;
+
+    @Value("${feed.posts.max-ids:100}")
+    private int maxIds;
+
+    /**
+     * Returns the posts with the given ids in request order. Duplicate ids are returned once and
+     * ids without a post are skipped.
+     */
+    @Override
+    public List<Post> getPostsByIds(List<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.removeIf(id -> id == null || id.isBlank());
+        if (uniqueIds.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxIds + " post ids can be requested at once");
+        }
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Post> postsById = postCache.getAll(uniqueIds);
+        return uniqueIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
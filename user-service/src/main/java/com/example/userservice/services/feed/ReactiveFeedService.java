@@ -0,0 +1,20 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveFeedService {
+    Mono<Post> createPost(String userId, String content);
+
+    Mono<List<PostBatchResult>> createPosts(List<PostBatchItem> items);
+
+    Flux<Post> getUserFeed(String userId, PageCursor cursor, int size);
+
+    Flux<Post> getSpecificUserFeed(String userId, PageCursor cursor, int size);
+}
@@ -0,0 +1,111 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
+import com.example.userservice.repositories.ReactiveFeedRepository;
+import com.example.userservice.services.subscription.FollowingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking feed reads on the reactive MongoDB driver, enabled with the {@code reactive}
+ * profile. A request waiting on MongoDB does not hold a thread, so a pod can keep many more slow
+ * feed reads in flight. Home feeds are read from the posts of the followed users, like
+ * {@link FeedServiceImpl} does with {@code feed.fanout.enabled=false}, with the followed users
+ * taken from the shared {@link FollowingCache}; a miss is loaded on a bounded elastic thread.
+ * Nothing here reads the timelines that fan-out writes, so startup fails unless
+ * {@code feed.fanout.enabled=false}. Creating a post still goes through {@link FeedService} on a
+ * bounded elastic thread so cache invalidation applies.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveFeedServiceImpl implements ReactiveFeedService {
+
+    private final ReactiveFeedRepository reactiveFeedRepository;
+    private final FollowingCache followingCache;
+    private final FeedService feedService;
+
+    @Value("${feed.pull.chunk-size:500}")
+    private int pullChunkSize;
+
+    public ReactiveFeedServiceImpl(ReactiveFeedRepository reactiveFeedRepository,
+                                   FollowingCache followingCache,
+                                   FeedService feedService,
+                                   @Value("${feed.fanout.enabled:false}") boolean fanoutEnabled) {
+        if (fanoutEnabled) {
+            throw new IllegalArgumentException("the reactive profile requires feed.fanout.enabled=false");
+        }
+        this.reactiveFeedRepository = reactiveFeedRepository;
+        this.followingCache = followingCache;
+        this.feedService = feedService;
+    }
+
+    @Override
+    public Mono<Post> createPost(String userId, String content) {
+        return Mono.fromCallable(() -> feedService.createPost(userId, content))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<PostBatchResult>> createPosts(List<PostBatchItem> items) {
+        return Mono.fromCallable(() -> feedService.createPosts(items))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<Post> getUserFeed(String userId, PageCursor cursor, int size) {
+        return followedUserIds(userId)
+                .doOnNext(followedUserIds -> log.info("followedUserIds: {}", followedUserIds))
+                .flatMapMany(followedUserIds -> readFollowedAuthors(followedUserIds, cursor, size));
+    }
+
+    @Override
+    public Flux<Post> getSpecificUserFeed(String userId, PageCursor cursor, int size) {
+        return reactiveFeedRepository.findPageByUserId(userId, cursor, size);
+    }
+
+    private Mono<List<String>> followedUserIds(String userId) {
+        List<String> cached = followingCache.getCachedFollowedUserIds(userId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> followingCache.getFollowedUserIds(userId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Reads one page of posts written by any of the given authors, splitting long author lists
+     * into chunks of {@code feed.pull.chunk-size}. The chunks are queried concurrently and their
+     * sorted results are merged as they arrive.
+     */
+    @SuppressWarnings("unchecked")
+    private Flux<Post> readFollowedAuthors(List<String> authorIds, PageCursor cursor, int size) {
+        if (authorIds.isEmpty()) {
+            return Flux.empty();
+        }
+        if (authorIds.size() <= pullChunkSize) {
+            return reactiveFeedRepository.findPageByUserIdIn(authorIds, cursor, size);
+        }
+
+        List<Flux<Post>> chunks = new ArrayList<>();
+        for (int from = 0; from < authorIds.size(); from += pullChunkSize) {
+            List<String> chunk = authorIds.subList(from, Math.min(from + pullChunkSize, authorIds.size()));
+            chunks.add(reactiveFeedRepository.findPageByUserIdIn(chunk, cursor, size));
+        }
+        Flux<Post>[] sources = chunks.toArray(Flux[]::new);
+        return Flux.mergeComparing(FeedMerger.NEWEST_FIRST, sources)
+                .distinct(Post::getId)
+                .take(size);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.userservice.services.feed;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Byte store backed by direct {@link ByteBuffer} slabs, so that the stored values live outside
+ * the Java heap and are never scanned or copied by the garbage collector. Slabs are allocated on
+ * demand up to a fixed budget and split into fixed-size blocks; a value occupies as many blocks
+ * as it needs. When the budget is exhausted the least recently used values are evicted.
+ * <p>
+ * Values can be tagged and invalidated by tag, which is how cached feed pages are dropped when
+ * one of the authors they contain publishes a new post. Every invalidation also bumps a generation
+ * counter of its tag, so a value loaded while one of its tags was invalidated can be refused.
+ * Counters are kept in a fixed number of stripes indexed by tag hash; two tags sharing a stripe
+ * only cause an extra refusal. All operations are synchronized; they only copy memory, so the
+ * lock is held for microseconds, and {@link FeedPageCache} splits its budget over several stores
+ * to keep them apart.
+ */
+final class SlabStore {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxSlabs;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final ArrayDeque<Integer> freeBlocks = new ArrayDeque<>();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private final long[] tagGenerations = new long[GENERATION_STRIPES];
+
+    SlabStore(int blockSize, int slabSize, int maxSlabs) {
+        if (blockSize <= 0 || slabSize < blockSize || maxSlabs <= 0) {
+            throw new IllegalArgumentException("Invalid slab store geometry: block " + blockSize
+                    + " bytes, slab " + slabSize + " bytes, " + maxSlabs + " slabs");
+        }
+        this.blockSize = blockSize;
+        this.blocksPerSlab = slabSize / blockSize;
+        this.maxSlabs = maxSlabs;
+    }
+
+    /**
+     * @param tags The tags of a value about to be loaded.
+     * @return The generation of the tags, which changes whenever one of them is invalidated.
+     */
+    synchronized long generation(Collection<String> tags) {
+        long generation = 0;
+        for (String tag : tags) {
+            generation += tagGenerations[stripeOf(tag)];
+        }
+        return generation;
+    }
+
+    /**
+     * Stores a value, replacing any value stored under the same key, unless one of its tags was
+     * invalidated since the value was loaded.
+     *
+     * @param key        The key of the value.
+     * @param tags       The tags the value can be invalidated by.
+     * @param value      The bytes to store.
+     * @param gzipped    Whether {@code value} is gzip-compressed.
+     * @param expiresAt  The time, in milliseconds since the epoch, after which the value is stale.
+     * @param generation The {@link #generation} of the tags read before the value was loaded.
+     * @return {@code false} if the value is larger than the whole store and was not stored.
+     */
+    synchronized boolean put(String key, Collection<String> tags, byte[] value, boolean gzipped, long expiresAt,
+                             long generation) {
+        if (generation(tags) != generation) {
+            return true;
+        }
+        remove(key);
+        int blockCount = Math.max(1, (value.length + blockSize - 1) / blockSize);
+        if (blockCount > blocksPerSlab * maxSlabs) {
+            return false;
+        }
+        while (freeBlocks.size() < blockCount) {
+            if (slabs.size() < maxSlabs) {
+                allocateSlab();
+            } else {
+                Iterator<String> eldest = entries.keySet().iterator();
+                remove(eldest.next());
+            }
+        }
+
+        int[] blocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            blocks[i] = freeBlocks.pop();
+            int offset = i * blockSize;
+            slabOf(blocks[i]).put(offsetOf(blocks[i]), value, offset, Math.min(blockSize, value.length - offset));
+        }
+        Set<String> entryTags = Set.copyOf(tags);
+        entries.put(key, new Entry(blocks, value.length, gzipped, expiresAt, entryTags));
+        for (String tag : entryTags) {
+            keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+        }
+        return true;
+    }
+
+    /**
+     * @param key The key of the value.
+     * @param now The current time in milliseconds since the epoch.
+     * @return A copy of the stored value, or {@code null} if there is none or it has expired.
+     */
+    synchronized FeedPageCache.CachedPage get(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            remove(key);
+            return null;
+        }
+
+        byte[] value = new byte[entry.length()];
+        for (int i = 0; i < entry.blocks().length; i++) {
+            int offset = i * blockSize;
+            slabOf(entry.blocks()[i]).get(offsetOf(entry.blocks()[i]), value, offset, Math.min(blockSize, value.length - offset));
+        }
+        return new FeedPageCache.CachedPage(value, entry.gzipped());
+    }
+
+    synchronized void invalidateTag(String tag) {
+        tagGenerations[stripeOf(tag)]++;
+        Set<String> keys = keysByTag.get(tag);
+        if (keys != null) {
+            List.copyOf(keys).forEach(this::remove);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long usedBytes() {
+        return (long) (slabs.size() * blocksPerSlab - freeBlocks.size()) * blockSize;
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (int block : entry.blocks()) {
+            freeBlocks.push(block);
+        }
+        for (String tag : entry.tags()) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag);
+            }
+        }
+    }
+
+    private static int stripeOf(String tag) {
+        return Math.floorMod(tag.hashCode(), GENERATION_STRIPES);
+    }
+
+    private void allocateSlab() {
+        int first = slabs.size() * blocksPerSlab;
+        slabs.add(ByteBuffer.allocateDirect(blocksPerSlab * blockSize));
+        for (int block = first + blocksPerSlab - 1; block >= first; block--) {
+            freeBlocks.push(block);
+        }
+    }
+
+    private ByteBuffer slabOf(int block) {
+        return slabs.get(block / blocksPerSlab);
+    }
+
+    private int offsetOf(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private record Entry(int[] blocks, int length, boolean gzipped, long expiresAt, Set<String> tags) {
+    }
+}
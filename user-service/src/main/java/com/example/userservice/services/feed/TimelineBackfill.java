@@ -0,0 +1,119 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.TimelineRepository;
+import com.example.userservice.repositories.UserSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Copies posts that were written before a follow relationship existed into materialized
+ * timelines, which fan-out alone only fills with posts created afterwards. Following a user
+ * copies their latest {@code feed.fanout.backfill-size} posts into the follower's timeline.
+ * <p>
+ * With {@code feed.fanout.backfill-on-startup=true}, every existing subscription is backfilled
+ * once before the application starts serving requests. Run it on the deploy that turns
+ * {@code feed.fanout.enabled} on, so that home feeds are not empty for existing users.
+ * Entries are upserted, so the backfill can be repeated safely.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineBackfill implements SmartInitializingSingleton {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final FeedRepository feedRepository;
+    private final TimelineRepository timelineRepository;
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final HighFollowerAuthorCache highFollowerAuthorCache;
+
+    @Value("${feed.fanout.enabled:false}")
+    private boolean fanoutEnabled;
+
+    @Value("${feed.fanout.backfill-size:100}")
+    private int backfillSize;
+
+    @Value("${feed.fanout.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        if (!fanoutEnabled) {
+            log.warn("Skipping the timeline backfill: feed.fanout.enabled is false");
+            return;
+        }
+        backfillAll();
+    }
+
+    /**
+     * Copies the latest posts of a newly followed author into the follower's timeline. Posts of
+     * high-follower authors are merged at read time and are not copied.
+     *
+     * @param authorId   The followed user.
+     * @param followerId The new follower.
+     */
+    public void backfillFollower(String authorId, String followerId) {
+        if (!fanoutEnabled || highFollowerAuthorCache.isHighFollowerAuthor(authorId)) {
+            return;
+        }
+        List<TimelineEntry> entries = latestPosts(authorId).stream()
+                .map(post -> TimelineEntry.of(followerId, post))
+                .toList();
+        timelineRepository.appendAll(entries);
+        log.info("Backfilled {} posts of {} into the timeline of {}", entries.size(), authorId, followerId);
+    }
+
+    /**
+     * Backfills every subscription. Subscriptions are walked ordered by the followed user, so the
+     * latest posts of each author are read once and copied to all of their followers.
+     */
+    void backfillAll() {
+        String currentAuthorId = null;
+        List<Post> authorPosts = List.of();
+        List<TimelineEntry> entries = new ArrayList<>(WRITE_BATCH_SIZE);
+        long subscriptions = 0;
+        long written = 0;
+
+        try (Stream<UserSubscription> stream = userSubscriptionRepository.findAllByOrderByUserIdAsc()) {
+            for (UserSubscription subscription : (Iterable<UserSubscription>) stream::iterator) {
+                subscriptions++;
+                if (!Objects.equals(subscription.getUserId(), currentAuthorId)) {
+                    currentAuthorId = subscription.getUserId();
+                    authorPosts = highFollowerAuthorCache.isHighFollowerAuthor(currentAuthorId)
+                            ? List.of()
+                            : latestPosts(currentAuthorId);
+                }
+                for (Post post : authorPosts) {
+                    entries.add(TimelineEntry.of(subscription.getFollowerId(), post));
+                }
+                if (entries.size() >= WRITE_BATCH_SIZE) {
+                    timelineRepository.appendAll(entries);
+                    written += entries.size();
+                    entries = new ArrayList<>(WRITE_BATCH_SIZE);
+                }
+            }
+        }
+        timelineRepository.appendAll(entries);
+        written += entries.size();
+        log.info("Timeline backfill wrote {} entries for {} subscriptions", written, subscriptions);
+    }
+
+    private List<Post> latestPosts(String authorId) {
+        return feedRepository.findPageByUserId(authorId, null, backfillSize);
+    }
+}
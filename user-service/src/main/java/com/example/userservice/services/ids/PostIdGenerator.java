@@ -0,0 +1,15 @@
+package com.example.userservice.services.ids;
+
+/**
+ * Generates ids for new posts. Implementations must return ids that sort, as strings, in the
+ * order the posts were created, so that feeds can be sorted and paginated by {@code _id} alone.
+ */
+public interface PostIdGenerator {
+
+    /**
+     * Returns a new unique id, greater than every id previously returned by this generator.
+     *
+     * @return The new id.
+     */
+    String nextId();
+}
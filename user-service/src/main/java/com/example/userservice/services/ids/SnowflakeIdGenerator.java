@@ -0,0 +1,156 @@
+package com.example.userservice.services.ids;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Snowflake-style 64-bit ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id
+ * and a 12-bit per-millisecond sequence. Ids are rendered as zero-padded 19-digit decimal strings,
+ * so their lexicographic order (the order MongoDB sorts strings in) matches their numeric order.
+ * <p>
+ * The generator keeps a logical clock that never moves backwards: if the wall clock is set back,
+ * ids continue from the last millisecond issued. When the sequence of a millisecond is exhausted,
+ * the generator spins until the wall clock reaches the next one, so the logical clock never runs
+ * ahead of it. Ids are therefore strictly increasing per node.
+ * <p>
+ * The node id must differ between running instances. It is read from {@code feed.ids.node-id}
+ * (for example the {@code FEED_IDS_NODE_ID} environment variable) or, when that is not set, from
+ * the ordinal at the end of a hostname such as {@code user-service-3}. Only the {@code dev}
+ * profile falls back to node 0; otherwise startup fails.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator implements PostIdGenerator {
+
+    static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final Pattern HOSTNAME_ORDINAL = Pattern.compile("-(\\d+)$");
+
+    private final long nodeId;
+    private final Clock clock;
+
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${feed.ids.node-id:}") String nodeId, Environment environment) {
+        this(resolveNodeId(nodeId, environment.getProperty("HOSTNAME"), environment.acceptsProfiles(Profiles.of("dev"))),
+                Clock.systemUTC());
+    }
+
+    SnowflakeIdGenerator(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("feed.ids.node-id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * @param configured  The value of {@code feed.ids.node-id}, possibly empty.
+     * @param hostname    The hostname of the instance, possibly {@code null}.
+     * @param devProfile  Whether the {@code dev} profile is active.
+     * @return The node id of this instance.
+     * @throws IllegalStateException if no node id is configured outside the {@code dev} profile.
+     */
+    static long resolveNodeId(String configured, String hostname, boolean devProfile) {
+        if (StringUtils.hasText(configured)) {
+            try {
+                return Long.parseLong(configured.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("feed.ids.node-id must be a number, was " + configured, e);
+            }
+        }
+        if (hostname != null) {
+            Matcher ordinal = HOSTNAME_ORDINAL.matcher(hostname);
+            if (ordinal.find()) {
+                return Long.parseLong(ordinal.group(1));
+            }
+        }
+        if (devProfile) {
+            return 0;
+        }
+        throw new IllegalStateException("feed.ids.node-id must be set to a value unique to this instance, "
+                + "e.g. with FEED_IDS_NODE_ID, or derivable from a hostname ending in -<ordinal>");
+    }
+
+    /**
+     * Maps the ObjectId of a post created before time-ordered ids to an id of the same format,
+     * so that legacy posts sort by creation time among the new ones. The timestamp bits hold the
+     * second of the ObjectId plus a millisecond offset taken from its per-process bytes, and the
+     * node and sequence bits hold the low 22 bits of its counter. The mapping is deterministic,
+     * so a migration that is interrupted and rerun assigns the same ids.
+     *
+     * @param objectId The legacy id.
+     * @return The time-ordered id replacing it.
+     * @throws IllegalArgumentException if the ObjectId predates {@link #EPOCH}.
+     */
+    public static String fromObjectId(ObjectId objectId) {
+        byte[] bytes = objectId.toByteArray();
+        int processHash = 1;
+        for (int i = 4; i < 9; i++) {
+            processHash = 31 * processHash + bytes[i];
+        }
+        long counter = ((bytes[9] & 0xffL) << 16) | ((bytes[10] & 0xffL) << 8) | (bytes[11] & 0xffL);
+
+        long timestamp = objectId.getTimestamp() * 1000L + Math.floorMod(processHash, 1000) - EPOCH.toEpochMilli();
+        if (timestamp < 0) {
+            throw new IllegalArgumentException("ObjectId " + objectId + " predates the id epoch " + EPOCH);
+        }
+        long nodeAndSequence = counter & ((1L << (NODE_BITS + SEQUENCE_BITS)) - 1);
+        return String.format("%019d", (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeAndSequence);
+    }
+
+    @Override
+    public String nextId() {
+        return String.format("%019d", nextLong());
+    }
+
+    synchronized long nextLong() {
+        long timestamp = currentTimestamp();
+        if (timestamp < lastTimestamp) {
+            log.warn("Clock moved backwards by {} ms, continuing from the last issued timestamp", lastTimestamp - timestamp);
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                timestamp = waitForNextMillisecond();
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long waitForNextMillisecond() {
+        long timestamp = currentTimestamp();
+        while (timestamp <= lastTimestamp) {
+            Thread.onSpinWait();
+            timestamp = currentTimestamp();
+        }
+        return timestamp;
+    }
+
+    private long currentTimestamp() {
+        return clock.millis() - EPOCH.toEpochMilli();
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.models.Like;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional accept-and-queue write path for comments and likes. When enabled, the interaction
+ * endpoints validate a request, put it into a bounded in-process queue and answer 202 with an
+ * operation id, without waiting for MongoDB. A pool of {@code interactions.async.workers}
+ * threads takes up to {@code interactions.async.batch-size} queued writes at a time and persists
+ * them with {@link InteractionService#applyBatch}. The workers are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set.
+ * <p>
+ * The queue holds at most {@code interactions.async.queue-capacity} writes. When it is full the
+ * request is rejected with 429, so a spike pushes back on clients instead of growing the heap.
+ * The queue is drained on graceful shutdown; its depth is published as the
+ * {@code interactions.queue.depth} gauge and rejections as {@code interactions.queue.rejected}.
+ * <p>
+ * A batch that fails is retried by the same worker up to {@code interactions.async.max-attempts}
+ * times, waiting {@code interactions.async.retry-backoff-ms} times the attempt number in between,
+ * so it keeps its place relative to later likes and unlikes of the same users. Comments get their
+ * id when accepted, which makes a retry skip the ones already inserted. A batch that still fails
+ * is logged with its operation ids and counted as {@code interactions.queue.dead_lettered}.
+ */
+@Slf4j
+@Component
+public class InteractionQueue {
+
+    enum Type {
+        COMMENT, LIKE, UNLIKE
+    }
+
+    record QueuedInteraction(String operationId, Type type, String postId, String userId, String commentId,
+                             String content, LocalDateTime acceptedAt) {
+    }
+
+    private final InteractionService interactionService;
+    private final boolean enabled;
+    private final int workerCount;
+    private final boolean virtualThreads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<QueuedInteraction> queue;
+    private final Counter rejected;
+    private final Counter deadLettered;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public InteractionQueue(InteractionService interactionService,
+                            MeterRegistry meterRegistry,
+                            @Value("${interactions.async.enabled:false}") boolean enabled,
+                            @Value("${interactions.async.queue-capacity:10000}") int queueCapacity,
+                            @Value("${interactions.async.workers:2}") int workerCount,
+                            @Value("${interactions.async.batch-size:200}") int batchSize,
+                            @Value("${interactions.async.max-attempts:3}") int maxAttempts,
+                            @Value("${interactions.async.retry-backoff-ms:500}") long retryBackoffMillis,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.interactionService = interactionService;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.virtualThreads = virtualThreads;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.rejected = Counter.builder("interactions.queue.rejected")
+                .description("Interactions rejected because the queue was full")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("interactions.queue.dead_lettered")
+                .description("Interactions dropped after every attempt to persist them failed")
+                .register(meterRegistry);
+        Gauge.builder("interactions.queue.depth", queue, BlockingQueue::size)
+                .description("Interactions waiting to be persisted")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String submitComment(String postId, String userId, String content) {
+        if (!StringUtils.hasText(content)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Comment content cannot be empty");
+        }
+        return submit(Type.COMMENT, postId, userId, new ObjectId().toHexString(), content);
+    }
+
+    public String submitLike(String postId, String userId) {
+        return submit(Type.LIKE, postId, userId, null, null);
+    }
+
+    public String submitUnlike(String postId, String userId) {
+        return submit(Type.UNLIKE, postId, userId, null, null);
+    }
+
+    /**
+     * @return The number of writes waiting to be persisted.
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            Thread worker = builder
+                    .name("interaction-worker-" + i)
+                    .start(this::work);
+            workers.add(worker);
+        }
+        log.info("Started {} interaction workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (!queue.isEmpty()) {
+            log.info("Draining {} queued interactions before shutdown", queue.size());
+            while (drainBatch()) {
+                // keep draining until the queue is empty
+            }
+        }
+    }
+
+    private String submit(Type type, String postId, String userId, String commentId, String content) {
+        if (!StringUtils.hasText(postId) || !StringUtils.hasText(userId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Post id and user id are required");
+        }
+        String operationId = UUID.randomUUID().toString();
+        if (!queue.offer(new QueuedInteraction(operationId, type, postId, userId, commentId, content, LocalDateTime.now()))) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many pending interactions, retry later");
+        }
+        return operationId;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                QueuedInteraction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<QueuedInteraction> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    persist(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} once the queue is empty.
+     */
+    boolean drainBatch() {
+        List<QueuedInteraction> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        persist(batch);
+        return true;
+    }
+
+    /**
+     * Persists a batch in one call. Only the last like or unlike of a user on a post is kept,
+     * in queue order, so a like followed by an unlike in the same batch ends unliked. The call
+     * is retried with a linear backoff until it succeeds or runs out of attempts.
+     */
+    private void persist(List<QueuedInteraction> batch) {
+        List<Comment> comments = new ArrayList<>();
+        Map<String, QueuedInteraction> lastLikeIntents = new LinkedHashMap<>();
+        for (QueuedInteraction interaction : batch) {
+            if (interaction.type() == Type.COMMENT) {
+                comments.add(Comment.builder()
+                        .id(interaction.commentId())
+                        .postId(interaction.postId())
+                        .userId(interaction.userId())
+                        .content(interaction.content())
+                        .publicationDate(interaction.acceptedAt())
+                        .build());
+            } else {
+                lastLikeIntents.put(interaction.postId() + '|' + interaction.userId(), interaction);
+            }
+        }
+
+        List<Like> likes = new ArrayList<>();
+        List<Like> unlikes = new ArrayList<>();
+        lastLikeIntents.values().forEach(interaction -> {
+            Like like = Like.builder().postId(interaction.postId()).userId(interaction.userId()).build();
+            (interaction.type() == Type.LIKE ? likes : unlikes).add(like);
+        });
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                interactionService.applyBatch(comments, likes, unlikes);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    deadLetter(batch, attempt, e);
+                    return;
+                }
+                log.warn("Failed to persist {} interactions, attempt {} of {}", batch.size(), attempt, maxAttempts, e);
+            }
+            try {
+                Thread.sleep(retryBackoffMillis * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deadLetter(batch, attempt, e);
+                return;
+            }
+        }
+    }
+
+    private void deadLetter(List<QueuedInteraction> batch, int attempts, Exception cause) {
+        deadLettered.increment(batch.size());
+        log.error("Dropping interactions {} after {} attempts", batch.stream().map(QueuedInteraction::operationId).toList(),
+                attempts, cause);
+    }
+}
@@ -2,13 +2,21 @@ package com.example.userservice.services.interaction;
 
 import com.example.userservice.models.Comment;
 import com.example.userservice.models.Like;
+import com.example.userservice.pojos.CommentPage;
+import com.example.userservice.pojos.PageCursor;
+
+import java.util.List;
 
 public interface InteractionService {
     Comment addComment(String postId, String userId, String content);
 
     void deleteComment(String commentId, String userId);
 
+    CommentPage getComments(String postId, PageCursor cursor, int size);
+
     Like addLike(String postId, String userId);
 
     void removeLike(String postId, String userId);
+
+    void applyBatch(List<Comment> comments, List<Like> likes, List<Like> unlikes);
 }
\ No newline at end of file
@@ -2,8 +2,13 @@ package com.example.userservice.services.interaction;
 
 import com.example.userservice.models.Comment;
 import com.example.userservice.models.Like;
+import com.example.userservice.pojos.CommentPage;
+import com.example.userservice.pojos.PageCursor;
 import com.example.userservice.repositories.CommentRepository;
+import com.example.userservice.repositories.FeedRepository;
 import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.feed.PostCache;
+import com.example.userservice.services.trending.TrendingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,6 +16,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -19,6 +27,11 @@ public class InteractionServiceImpl implements InteractionService {
 
     private final CommentRepository commentRepository;
     private final LikeRepository likeRepository;
+    private final FeedRepository feedRepository;
+    private final PostCache postCache;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final LikeCounterTable likeCounterTable;
+    private final TrendingService trendingService;
 
     public Comment addComment(String postId, String userId, String content) {
         Comment comment = Comment.builder()
@@ -29,33 +42,101 @@ public class InteractionServiceImpl implements InteractionService {
                 .build();
 
         log.info("Comment created: {}", comment);
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        updateCommentCount(postId, 1);
+        trendingService.recordInteraction(postId);
+        return savedComment;
     }
 
     public void deleteComment(String commentId, String userId) {
-        commentRepository.deleteByIdAndUserId(commentId, userId);
+        List<Comment> deletedComments = commentRepository.deleteByIdAndUserId(commentId, userId);
+        deletedComments.forEach(deleted -> updateCommentCount(deleted.getPostId(), -1));
         log.info("Comment deleted: {}", commentId);
     }
 
+    public CommentPage getComments(String postId, PageCursor cursor, int size) {
+        return CommentPage.of(commentRepository.findPageByPostId(postId, cursor, size), size);
+    }
+
+    /**
+     * Likes a post with a single upsert; a repeated like, such as a double click, finds the
+     * existing like through the unique (postId, userId) index and is rejected without writing.
+     * In write-behind mode the like is only buffered, so a repeated like is accepted as a no-op.
+     */
     public Like addLike(String postId, String userId) {
-        if (!likeRepository.existsByPostIdAndUserId(postId, userId)) {
-            Like like = Like.builder()
+        if (likeWriteBuffer.isEnabled()) {
+            likeWriteBuffer.like(postId, userId);
+            trendingService.recordInteraction(postId);
+            return Like.builder()
                     .postId(postId)
                     .userId(userId)
                     .build();
-            log.info("Like created: {}", like);
-            return likeRepository.save(like);
-        } else {
+        }
+        String likeId = likeRepository.insertIfAbsent(postId, userId);
+        if (likeId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User has already liked this post");
         }
+        Like like = Like.builder()
+                .id(likeId)
+                .postId(postId)
+                .userId(userId)
+                .build();
+        log.info("Like created: {}", like);
+        likeCounterTable.add(postId, 1);
+        trendingService.recordInteraction(postId);
+        return like;
     }
 
+    /**
+     * Unlikes a post with a single delete, whose deleted count tells whether the like existed.
+     * In write-behind mode the unlike is only buffered and removing a missing like is a no-op.
+     */
     public void removeLike(String postId, String userId) {
-        if (likeRepository.existsByPostIdAndUserId(postId, userId)) {
-            log.info("Like deleted by: {} and: {}", postId, userId);
-            likeRepository.deleteByPostIdAndUserId(postId, userId);
-        } else {
+        if (likeWriteBuffer.isEnabled()) {
+            likeWriteBuffer.unlike(postId, userId);
+            return;
+        }
+        long deleted = likeRepository.deleteByPostIdAndUserId(postId, userId);
+        if (deleted == 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Like does not exist and cannot be removed");
         }
+        log.info("Like deleted by: {} and: {}", postId, userId);
+        likeCounterTable.add(postId, -deleted);
+    }
+
+    /**
+     * Persists a batch of queued interactions: the comments with one insert, the likes and
+     * unlikes with one bulk write, and the counter changes once per post. The batch may be
+     * applied again after a failure: comments already inserted, recognized by their id, and
+     * likes already written are not counted twice, neither in the counters nor in trending,
+     * which only sees the like count gained by each post.
+     */
+    public void applyBatch(List<Comment> comments, List<Like> likes, List<Like> unlikes) {
+        if (!comments.isEmpty()) {
+            List<Comment> inserted = commentRepository.insertAllIfAbsent(comments);
+            Map<String, Long> commentsByPost = new HashMap<>();
+            inserted.forEach(comment -> commentsByPost.merge(comment.getPostId(), 1L, Long::sum));
+            commentsByPost.forEach(this::updateCommentCount);
+            inserted.forEach(comment -> trendingService.recordInteraction(comment.getPostId()));
+        }
+        if (!likes.isEmpty() || !unlikes.isEmpty()) {
+            likeRepository.writeAll(likes, unlikes).forEach((postId, delta) -> {
+                likeCounterTable.add(postId, delta);
+                for (long i = 0; i < delta; i++) {
+                    trendingService.recordInteraction(postId);
+                }
+            });
+        }
+        log.info("Applied batch of {} comments, {} likes and {} unlikes", comments.size(), likes.size(), unlikes.size());
+    }
+
+    /**
+     * Keeps the denormalized comment count of a post in step with a comment: increments it in
+     * MongoDB with {@code $inc} and applies the same change to the cached post, if any. Like
+     * counts are batched by the {@link LikeCounterTable} instead.
+     */
+    private void updateCommentCount(String postId, long delta) {
+        feedRepository.incrementCommentCount(postId, delta);
+        postCache.applyCounterDelta(postId, 0, delta);
     }
-}
\ No newline at end of file
+}
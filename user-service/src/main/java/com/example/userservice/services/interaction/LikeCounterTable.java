@@ -0,0 +1,178 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.feed.PostCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process table of like count changes by post id that have not been written to MongoDB yet.
+ * Every post gets a {@link LongAdder}, whose striped cells let concurrent request threads add to
+ * the count of a viral post without contending on a single lock or CAS target.
+ * <p>
+ * The changes are flushed every {@code interactions.likes.counters.flush-interval-ms} with one
+ * bulk {@code $inc} for all changed posts. Flushing subtracts the written amount from each adder
+ * instead of resetting it, so increments racing with a flush are never lost.
+ * <p>
+ * A post entering the table is marked dirty in MongoDB, and every bulk {@code $inc} marks
+ * it again, so a post whose pending changes are lost in a crash stays marked after a restart.
+ * Every {@code interactions.likes.counters.reconcile-interval-ms} the like counts of all dirty
+ * posts are recomputed from {@code user_likes} and their marks removed, which repairs that drift
+ * whether or not the post is ever liked again. Idle adders are only dropped right before that
+ * recount: a like is stored before its change is added, so a change landing on an adder while it
+ * is dropped is already part of the recount, and the next change creates a new adder, which marks
+ * the post again.
+ * <p>
+ * A post that has an adder once its likes are recounted is not overwritten: its pending change
+ * may already be part of the recount and would be added a second time by the next flush. Neither
+ * is a post marked again since its mark was read, which covers the flushes of other instances.
+ * A change that still slips past both checks marks the post again, so the next reconcile repairs it.
+ * <p>
+ * Flushes and reconciles are serialized by a {@link ReentrantLock} rather than a monitor, so the
+ * MongoDB round trips they make while holding it do not pin a carrier thread of a virtual thread.
+ */
+@Slf4j
+@Component
+public class LikeCounterTable {
+
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final FeedRepository feedRepository;
+    private final LikeRepository likeRepository;
+    private final PostCache postCache;
+
+    public LikeCounterTable(FeedRepository feedRepository,
+                            LikeRepository likeRepository,
+                            PostCache postCache,
+                            MeterRegistry meterRegistry) {
+        this.feedRepository = feedRepository;
+        this.likeRepository = likeRepository;
+        this.postCache = postCache;
+        Gauge.builder("likes.counters.pending", pending, Map::size)
+                .description("Posts with like count changes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a change of the like count of a post. Only the first change since the post was
+     * last reconciled writes to MongoDB, to mark the post dirty.
+     *
+     * @param postId The id of the post.
+     * @param delta  The change of the like count.
+     */
+    public void add(String postId, long delta) {
+        LongAdder adder = pending.get(postId);
+        if (adder == null) {
+            LongAdder created = new LongAdder();
+            adder = pending.putIfAbsent(postId, created);
+            if (adder == null) {
+                created.add(delta);
+                feedRepository.markLikeCountDirty(postId);
+                return;
+            }
+        }
+        adder.add(delta);
+    }
+
+    /**
+     * @param postId The id of the post.
+     * @return The change of the like count of the post that is not in MongoDB yet.
+     */
+    public long pendingDelta(String postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Writes the pending changes with one bulk update and applies them to the cached posts.
+     */
+    @Scheduled(fixedDelayString = "${interactions.likes.counters.flush-interval-ms:1000}")
+    public void flush() {
+        lock.lock();
+        try {
+            Map<String, Long> deltas = new HashMap<>();
+            pending.forEach((postId, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    deltas.put(postId, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            feedRepository.incrementLikeCounts(deltas);
+            deltas.forEach((postId, delta) -> {
+                pending.get(postId).add(-delta);
+                postCache.applyCounterDelta(postId, delta, 0);
+            });
+            log.debug("Flushed like count changes of {} posts", deltas.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes the like counts of all posts marked dirty from the likes themselves, overwrites
+     * the stored counts and removes the marks. Pending changes are flushed and idle adders dropped
+     * first, so the stored counts and the likes describe the same writes. Posts that have an adder
+     * after the recount are skipped and keep their mark, since their pending change may be counted
+     * already and their next changes would not mark them again.
+     */
+    @Scheduled(fixedDelayString = "${interactions.likes.counters.reconcile-interval-ms:600000}",
+            initialDelayString = "${interactions.likes.counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            flush();
+            pending.forEach((postId, adder) -> {
+                if (adder.sum() == 0) {
+                    pending.remove(postId, adder);
+                }
+            });
+
+            List<Map.Entry<String, Long>> marks = List.copyOf(feedRepository.findLikeCountDirtyMarks().entrySet());
+            for (int from = 0; from < marks.size(); from += RECONCILE_BATCH_SIZE) {
+                List<Map.Entry<String, Long>> batch = marks.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, marks.size()));
+                List<String> postIds = batch.stream().map(Map.Entry::getKey).toList();
+
+                Map<String, Long> recounted = likeRepository.countByPostIdIn(postIds);
+                Map<String, Long> counts = new HashMap<>();
+                Map<String, Long> settled = new HashMap<>();
+                batch.forEach(mark -> {
+                    if (!pending.containsKey(mark.getKey())) {
+                        counts.put(mark.getKey(), recounted.getOrDefault(mark.getKey(), 0L));
+                        settled.put(mark.getKey(), mark.getValue());
+                    }
+                });
+                feedRepository.settleLikeCounts(counts, settled);
+                counts.forEach(postCache::setLikeCount);
+            }
+            if (!marks.isEmpty()) {
+                log.info("Reconciled like counts of {} posts", marks.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.models.Like;
+import com.example.userservice.repositories.LikeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind buffer for likes. When enabled, likes and unlikes are recorded in a
+ * concurrent map keyed by (postId, userId) instead of being written one by one, and the map is
+ * flushed with one unordered bulk write every {@code interactions.likes.write-behind.flush-interval-ms}
+ * or as soon as it holds {@code interactions.likes.write-behind.max-batch-size} entries.
+ * <p>
+ * Only the last intent per (postId, userId) is kept, so a like followed by an unlike within one
+ * flush interval costs a single idempotent write instead of two. Like counts are adjusted in the
+ * {@link LikeCounterTable} from the outcome of the bulk write, so repeated likes never inflate them. The buffer is drained on
+ * graceful shutdown and its depth is published as the {@code likes.write_behind.pending} gauge.
+ */
+@Slf4j
+@Component
+public class LikeWriteBuffer {
+
+    enum Intent {
+        LIKE, UNLIKE
+    }
+
+    record LikeKey(String postId, String userId) {
+    }
+
+    private final ConcurrentHashMap<LikeKey, Intent> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LikeRepository likeRepository;
+    private final LikeCounterTable likeCounterTable;
+    private final TaskExecutor applicationTaskExecutor;
+    private final boolean enabled;
+    private final int maxBatchSize;
+
+    public LikeWriteBuffer(LikeRepository likeRepository,
+                           LikeCounterTable likeCounterTable,
+                           TaskExecutor applicationTaskExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${interactions.likes.write-behind.enabled:false}") boolean enabled,
+                           @Value("${interactions.likes.write-behind.max-batch-size:1000}") int maxBatchSize) {
+        this.likeRepository = likeRepository;
+        this.likeCounterTable = likeCounterTable;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        Gauge.builder("likes.write_behind.pending", pending, Map::size)
+                .description("Likes and unlikes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void like(String postId, String userId) {
+        record(new LikeKey(postId, userId), Intent.LIKE);
+    }
+
+    public void unlike(String postId, String userId) {
+        record(new LikeKey(postId, userId), Intent.UNLIKE);
+    }
+
+    /**
+     * @return The number of likes and unlikes waiting to be written.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${interactions.likes.write-behind.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every buffered intent, in bulk writes of at most {@code max-batch-size} operations.
+     * A batch that fails is put back into the buffer unless a newer intent arrived meanwhile,
+     * and the flush stops until the next schedule. Flushes are serialized by a lock that, unlike
+     * a monitor, does not pin a virtual thread's carrier during the bulk write.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            Iterator<LikeKey> keys = pending.keySet().iterator();
+            while (keys.hasNext()) {
+                List<Like> likes = new ArrayList<>();
+                List<Like> unlikes = new ArrayList<>();
+                while (keys.hasNext() && likes.size() + unlikes.size() < maxBatchSize) {
+                    LikeKey key = keys.next();
+                    Intent intent = pending.remove(key);
+                    if (intent == null) {
+                        continue;
+                    }
+                    Like like = Like.builder().postId(key.postId()).userId(key.userId()).build();
+                    (intent == Intent.LIKE ? likes : unlikes).add(like);
+                }
+                if ((!likes.isEmpty() || !unlikes.isEmpty()) && !writeBatch(likes, unlikes)) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        if (!pending.isEmpty()) {
+            log.info("Draining {} buffered likes before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    private void record(LikeKey key, Intent intent) {
+        pending.put(key, intent);
+        if (pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                applicationTaskExecutor.execute(this::flush);
+            } catch (TaskRejectedException e) {
+                flushRequested.set(false);
+                log.warn("Like flush executor saturated, leaving flush to the schedule");
+            }
+        }
+    }
+
+    private boolean writeBatch(List<Like> likes, List<Like> unlikes) {
+        try {
+            Map<String, Long> deltas = likeRepository.writeAll(likes, unlikes);
+            deltas.forEach(likeCounterTable::add);
+            log.debug("Flushed {} likes and {} unlikes", likes.size(), unlikes.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} likes and {} unlikes, keeping them buffered", likes.size(), unlikes.size(), e);
+            likes.forEach(like -> pending.putIfAbsent(new LikeKey(like.getPostId(), like.getUserId()), Intent.LIKE));
+            unlikes.forEach(like -> pending.putIfAbsent(new LikeKey(like.getPostId(), like.getUserId()), Intent.UNLIKE));
+            return false;
+        }
+    }
+}
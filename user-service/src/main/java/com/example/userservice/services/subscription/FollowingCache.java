@@ -0,0 +1,81 @@
+package com.example.userservice.services.subscription;
+
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.repositories.UserSubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-process cache of the ids of the users each follower follows, so that reading a
+ * home feed does not need a round trip to {@code user_subscriptions}. Entries are evicted by
+ * size and expire after the configured time to live, which bounds staleness when another
+ * instance changes a subscription.
+ */
+@Slf4j
+@Component
+public class FollowingCache {
+
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final Cache<String, List<String>> cache;
+
+    public FollowingCache(UserSubscriptionRepository userSubscriptionRepository,
+                          @Value("${subscription.following-cache.maximum-size:100000}") long maximumSize,
+                          @Value("${subscription.following-cache.ttl:10m}") Duration ttl) {
+        this.userSubscriptionRepository = userSubscriptionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param followerId The id of the follower.
+     * @return The ids of the users followed by {@code followerId}, loaded from MongoDB on a miss.
+     */
+    public List<String> getFollowedUserIds(String followerId) {
+        return cache.get(followerId, this::load);
+    }
+
+    /**
+     * @param followerId The id of the follower.
+     * @return The cached ids of the users followed by {@code followerId}, or {@code null} when
+     * they are not cached. Never queries MongoDB.
+     */
+    public List<String> getCachedFollowedUserIds(String followerId) {
+        return cache.getIfPresent(followerId);
+    }
+
+    /**
+     * Adds a new followed user to a cached entry in place, if the follower is cached.
+     *
+     * @param followerId The id of the follower.
+     * @param userId     The id of the newly followed user.
+     */
+    public void addFollowedUser(String followerId, String userId) {
+        cache.asMap().computeIfPresent(followerId, (key, followedUserIds) -> {
+            if (followedUserIds.contains(userId)) {
+                return followedUserIds;
+            }
+            List<String> updated = new ArrayList<>(followedUserIds.size() + 1);
+            updated.addAll(followedUserIds);
+            updated.add(userId);
+            return List.copyOf(updated);
+        });
+    }
+
+    private List<String> load(String followerId) {
+        List<String> followedUserIds = userSubscriptionRepository.findByFollowerId(followerId)
+                .stream()
+                .map(UserSubscription::getUserId)
+                .toList();
+        log.debug("Loaded {} followed users of {}", followedUserIds.size(), followerId);
+        return followedUserIds;
+    }
+}
@@ -4,6 +4,8 @@ package com.example.userservice.services.subscription;
 import com.example.userservice.models.UserSubscription;
 import com.example.userservice.pojos.UserDTO;
 import com.example.userservice.repositories.UserSubscriptionRepository;
+import com.example.userservice.services.feed.FeedPageCache;
+import com.example.userservice.services.feed.TimelineBackfill;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,9 @@ import java.util.stream.Collectors;
 public class SubscriptionServiceImpl implements SubscriptionService {
 
     private final UserSubscriptionRepository userSubscriptionRepository;
+    private final FollowingCache followingCache;
+    private final FeedPageCache feedPageCache;
+    private final TimelineBackfill timelineBackfill;
 
     @Override
     public void getDataFromMQ(UserDTO userDTO) {
@@ -48,6 +53,9 @@ public class SubscriptionServiceImpl implements SubscriptionService {
                 .followerId(followerId)
                 .build();
         userSubscriptionRepository.save(subscription);
+        followingCache.addFollowedUser(followerId, userId);
+        timelineBackfill.backfillFollower(userId, followerId);
+        feedPageCache.invalidateReader(followerId);
         log.info("New follow relationship created: {} -> {}", followerId, userId);
     }
 }
\ No newline at end of file
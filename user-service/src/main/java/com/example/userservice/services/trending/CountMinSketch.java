@@ -0,0 +1,89 @@
+package com.example.userservice.services.trending;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch: a {@code depth x width} matrix of counters in which every key increments one
+ * counter per row, chosen by a row-specific hash. The estimate of a key is the smallest of its
+ * counters, which never underestimates and overestimates by at most {@code e * total / width}
+ * with probability {@code 1 - e^-depth}. The footprint is fixed whatever the number of keys.
+ * <p>
+ * Sketches of the same dimensions can be added to and subtracted from each other, which is what
+ * lets a sliding window drop an expired bucket from its aggregate. Not thread-safe.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive, were " + depth + " and " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    void add(String key, long count) {
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(hash, row)] += count;
+        }
+    }
+
+    long estimate(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    void addAll(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    void subtractAll(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    /**
+     * Derives the column of every row from two halves of one 64-bit hash (Kirsch-Mitzenmacher),
+     * so a key is hashed once per update instead of once per row.
+     */
+    private int column(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes of the key, finished with a murmur3 mix so that ids
+     * differing only in their last digits spread over all columns.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
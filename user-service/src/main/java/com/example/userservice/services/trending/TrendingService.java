@@ -0,0 +1,11 @@
+package com.example.userservice.services.trending;
+
+import com.example.userservice.pojos.TrendingPost;
+
+import java.util.List;
+
+public interface TrendingService {
+    void recordInteraction(String postId);
+
+    List<TrendingPost> getTrending(int limit);
+}
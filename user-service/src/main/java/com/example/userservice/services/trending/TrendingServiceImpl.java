@@ -0,0 +1,227 @@
+package com.example.userservice.services.trending;
+
+import com.example.userservice.pojos.TrendingPost;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the most liked and commented posts of a sliding window entirely in memory. The window
+ * of {@code trending.window} is split into {@code trending.buckets} time buckets, each with its
+ * own {@link CountMinSketch}, plus one aggregate sketch holding their sum. When a bucket expires
+ * it is subtracted from the aggregate and reused, so the window slides without rescanning events
+ * and the footprint stays at {@code (buckets + 1) * depth * width} counters.
+ * <p>
+ * Next to the sketches, a candidate table of at most {@code trending.top-k} posts holds the
+ * heaviest hitters seen so far: a post enters it when its estimate beats the current minimum.
+ * Reading the trending posts therefore only sorts the K candidates, instead of aggregating
+ * {@code user_likes}. Estimates of the candidates are refreshed whenever a bucket expires.
+ * <p>
+ * Recording an interaction does not take the lock guarding the sketches: the event is stamped
+ * with its bucket and put into one of several bounded buffers, picked by thread, and the buffers
+ * are applied in bulk every {@code trending.drain-interval-ms}, before every read, and by a
+ * recording thread that finds its buffer full and the lock free. When the buffer is full and
+ * another thread is draining, the event is dropped, which a trending estimate can afford.
+ */
+@Slf4j
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int topK;
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch window;
+    private final Map<String, Long> candidates;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<BlockingQueue<Event>> eventBuffers;
+    private final int bufferMask;
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private long currentBucket;
+
+    /**
+     * Lower bound of the smallest candidate score, so that most events for posts outside the
+     * candidate table are rejected without scanning it.
+     */
+    private long minCandidateScore;
+
+    @Autowired
+    public TrendingServiceImpl(@Value("${trending.window:1h}") Duration windowLength,
+                               @Value("${trending.buckets:12}") int bucketCount,
+                               @Value("${trending.top-k:100}") int topK,
+                               @Value("${trending.sketch.depth:4}") int depth,
+                               @Value("${trending.sketch.width:4096}") int width,
+                               @Value("${trending.buffer-capacity:65536}") int bufferCapacity) {
+        this(windowLength, bucketCount, topK, depth, width, bufferCapacity, Clock.systemUTC());
+    }
+
+    TrendingServiceImpl(Duration windowLength, int bucketCount, int topK, int depth, int width, int bufferCapacity,
+                        Clock clock) {
+        if (bucketCount < 1 || topK < 1 || windowLength.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("trending.window must span at least one millisecond per bucket, "
+                    + "and trending.buckets and trending.top-k must be positive");
+        }
+        this.clock = clock;
+        this.bucketMillis = windowLength.toMillis() / bucketCount;
+        this.topK = topK;
+        this.buckets = new CountMinSketch[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(depth, width);
+        }
+        this.window = new CountMinSketch(depth, width);
+        this.candidates = new HashMap<>(topK * 2);
+        this.currentBucket = clock.millis() / bucketMillis;
+
+        int bufferCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.bufferMask = bufferCount - 1;
+        this.eventBuffers = new ArrayList<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            eventBuffers.add(new ArrayBlockingQueue<>(Math.max(1, bufferCapacity / bufferCount)));
+        }
+    }
+
+    @Override
+    public void recordInteraction(String postId) {
+        Event event = new Event(postId, clock.millis() / bucketMillis);
+        BlockingQueue<Event> buffer = eventBuffers.get((int) (Thread.currentThread().threadId() & bufferMask));
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (lock.tryLock()) {
+            try {
+                drainBuffers();
+                apply(event);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * @param limit The maximum number of posts to return, capped at {@code trending.top-k}.
+     * @return The posts with the most likes and comments within the window, highest score first.
+     */
+    @Override
+    public List<TrendingPost> getTrending(int limit) {
+        lock.lock();
+        try {
+            drainBuffers();
+            advance(clock.millis() / bucketMillis);
+            return candidates.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                    .limit(Math.min(limit, topK))
+                    .map(entry -> TrendingPost.builder().postId(entry.getKey()).score(entry.getValue()).build())
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the buffered interactions to the sketches.
+     */
+    @Scheduled(fixedDelayString = "${trending.drain-interval-ms:100}")
+    public void drain() {
+        lock.lock();
+        try {
+            drainBuffers();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainBuffers() {
+        List<Event> events = new ArrayList<>();
+        for (BlockingQueue<Event> buffer : eventBuffers) {
+            buffer.drainTo(events);
+        }
+        events.forEach(this::apply);
+        long dropped = droppedEvents.sumThenReset();
+        if (dropped > 0) {
+            log.debug("Dropped {} trending events while the buffers were full", dropped);
+        }
+    }
+
+    /**
+     * Counts one interaction in the bucket it was recorded in, unless that bucket has already
+     * left the window.
+     */
+    private void apply(Event event) {
+        advance(event.bucket());
+        if (currentBucket - event.bucket() >= buckets.length) {
+            return;
+        }
+        buckets[slot(event.bucket())].add(event.postId(), 1);
+        window.add(event.postId(), 1);
+        offer(event.postId(), window.estimate(event.postId()));
+    }
+
+    private void offer(String postId, long estimate) {
+        if (candidates.containsKey(postId) || candidates.size() < topK) {
+            candidates.put(postId, estimate);
+            return;
+        }
+        if (estimate <= minCandidateScore) {
+            return;
+        }
+
+        Map.Entry<String, Long> weakest = null;
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            if (weakest == null || candidate.getValue() < weakest.getValue()) {
+                weakest = candidate;
+            }
+        }
+        minCandidateScore = weakest.getValue();
+        if (estimate > minCandidateScore) {
+            candidates.remove(weakest.getKey());
+            candidates.put(postId, estimate);
+        }
+    }
+
+    /**
+     * Expires the buckets that fell out of the window before {@code bucket}: each one is
+     * subtracted from the aggregate sketch and cleared for reuse. The candidates are then
+     * re-estimated, and dropped once nothing of them is left in the window.
+     */
+    private void advance(long bucket) {
+        if (bucket <= currentBucket) {
+            return;
+        }
+        long expired = Math.min(bucket - currentBucket, buckets.length);
+        for (long i = 1; i <= expired; i++) {
+            CountMinSketch sketch = buckets[slot(currentBucket + i)];
+            window.subtractAll(sketch);
+            sketch.clear();
+        }
+        currentBucket = bucket;
+
+        candidates.replaceAll((postId, score) -> window.estimate(postId));
+        candidates.values().removeIf(score -> score <= 0);
+        minCandidateScore = 0;
+        log.debug("Trending window advanced by {} buckets, {} candidates left", expired, candidates.size());
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+
+    private record Event(String postId, long bucket) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.userservice;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.services.feed.FeedQueryExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileTests {
+
+	@Autowired
+	private TaskExecutor applicationTaskExecutor;
+
+	@Autowired
+	private FeedQueryExecutor feedQueryExecutor;
+
+	@Autowired
+	private SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory;
+
+	@MockBean
+	RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+	@Test
+	void applicationTaskExecutor_shouldRunTasksOnVirtualThreads() throws Exception {
+		System.out.println("Starting test: applicationTaskExecutor_shouldRunTasksOnVirtualThreads");
+
+		boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), applicationTaskExecutor)
+				.get(5, TimeUnit.SECONDS);
+
+		assertTrue(virtual);
+
+		System.out.println("Background tasks run on virtual threads.");
+	}
+
+	@Test
+	void feedQueryExecutor_shouldRunQueriesOnVirtualThreads() throws Exception {
+		System.out.println("Starting test: feedQueryExecutor_shouldRunQueriesOnVirtualThreads");
+
+		boolean virtual = feedQueryExecutor.submit(() -> Thread.currentThread().isVirtual())
+				.get(5, TimeUnit.SECONDS);
+
+		assertTrue(virtual);
+
+		System.out.println("Feed queries run on virtual threads.");
+	}
+
+	@Test
+	void rabbitListenerContainers_shouldConsumeOnVirtualThreads() {
+		System.out.println("Starting test: rabbitListenerContainers_shouldConsumeOnVirtualThreads");
+
+		assertInstanceOf(VirtualThreadTaskExecutor.class, ReflectionTestUtils.getField(rabbitListenerContainerFactory, "taskExecutor"));
+
+		System.out.println("RabbitMQ listener containers use virtual threads.");
+	}
+}
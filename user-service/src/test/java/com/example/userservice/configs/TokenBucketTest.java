@@ -0,0 +1,82 @@
+package com.example.userservice.configs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testTryConsume_allowsBurstUpToCapacity() {
+        System.out.println("Starting test: testTryConsume_allowsBurstUpToCapacity");
+
+        TokenBucket bucket = new TokenBucket(3, 1.0, now::get);
+
+        assertEquals(2, bucket.tryConsume().remaining());
+        assertEquals(1, bucket.tryConsume().remaining());
+        TokenBucket.Probe last = bucket.tryConsume();
+        assertTrue(last.consumed());
+        assertEquals(0, last.remaining());
+
+        TokenBucket.Probe rejected = bucket.tryConsume();
+        assertFalse(rejected.consumed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rejected.retryAfterNanos());
+        System.out.println("Burst of 3 consumed, fourth request rejected");
+    }
+
+    @Test
+    void testTryConsume_refillsOverTime() {
+        System.out.println("Starting test: testTryConsume_refillsOverTime");
+
+        TokenBucket bucket = new TokenBucket(2, 4.0, now::get);
+        assertTrue(bucket.tryConsume().consumed());
+        assertTrue(bucket.tryConsume().consumed());
+        assertFalse(bucket.tryConsume().consumed());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        TokenBucket.Probe refilled = bucket.tryConsume();
+        assertTrue(refilled.consumed());
+        assertEquals(0, refilled.remaining());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(1, bucket.tryConsume().remaining());
+        System.out.println("Bucket refilled at 4 tokens per second without exceeding capacity");
+    }
+
+    @Test
+    void testTryConsume_concurrentCallersNeverExceedCapacity() throws Exception {
+        System.out.println("Starting test: testTryConsume_concurrentCallersNeverExceedCapacity");
+
+        TokenBucket bucket = new TokenBucket(500, 1.0, now::get);
+        AtomicInteger consumed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 2_000; i++) {
+                executor.submit(() -> {
+                    if (bucket.tryConsume().consumed()) {
+                        consumed.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(500, consumed.get());
+        System.out.println("Exactly " + consumed.get() + " of 2000 concurrent requests consumed a token");
+    }
+
+    @Test
+    void testConstructor_rejectsNonPositiveLimits() {
+        System.out.println("Starting test: testConstructor_rejectsNonPositiveLimits");
+
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1.0, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, now::get));
+    }
+}
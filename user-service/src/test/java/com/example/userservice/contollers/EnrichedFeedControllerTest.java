@@ -0,0 +1,73 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.EnrichedFeedPage;
+import com.example.userservice.pojos.EnrichedPost;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.services.feed.FeedHydrator;
+import com.example.userservice.services.feed.FeedService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EnrichedFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FeedService feedService;
+
+    @MockBean
+    private FeedHydrator feedHydrator;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testGetEnrichedUserFeed() throws Exception {
+        System.out.println("Starting integration test: testGetEnrichedUserFeed");
+
+        String userId = "user1";
+        Post post = Post.builder()
+                .id("post1")
+                .userId("author1")
+                .content("First post content")
+                .likeCount(12)
+                .commentCount(4)
+                .build();
+        FeedPage page = FeedPage.builder().posts(List.of(post)).nextCursor("next").build();
+
+        Mockito.when(feedService.getUserFeed(userId, null, 10)).thenReturn(page);
+        Mockito.when(feedHydrator.hydrate(page, userId)).thenReturn(EnrichedFeedPage.builder()
+                .posts(List.of(EnrichedPost.builder().post(post).likedByViewer(true).build()))
+                .nextCursor("next")
+                .build());
+
+        mockMvc.perform(get("/api/v1/feed/{userId}/enriched", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value("post1"))
+                .andExpect(jsonPath("$.posts[0].likeCount").value(12))
+                .andExpect(jsonPath("$.posts[0].commentCount").value(4))
+                .andExpect(jsonPath("$.posts[0].likedByViewer").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        System.out.println("Enriched user feed retrieved successfully.");
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Post;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@code GET /api/v1/feed/specific/{userId}} over HTTP with many concurrent clients and
+ * reports throughput and latency percentiles. The page cache is disabled and every client reads a
+ * different author, so each request is a MongoDB query. Subclasses run it with platform and with
+ * virtual threads.
+ * <p>
+ * Run with {@code mvn test -Dtest='*ThreadsFeedEndpointBenchmarkTest' -Dfeed.benchmark=true} while the
+ * MongoDB from docker-compose is up. Uses its own database, which is dropped afterwards.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class FeedEndpointThroughputBenchmark {
+
+    static final String BENCHMARK_PROPERTIES = "spring.data.mongodb.database=user_data_benchmark";
+    static final String NO_RATE_LIMIT = "rate-limit.enabled=false";
+    static final String NO_PAGE_CACHE = "feed.page-cache.enabled=false";
+
+    private static final int AUTHORS = 500;
+    private static final int POSTS_PER_AUTHOR = 20;
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    abstract String mode();
+
+    @BeforeAll
+    void seed() {
+        mongoTemplate.getDb().drop();
+        LocalDateTime now = LocalDateTime.now();
+        List<Post> posts = new ArrayList<>(AUTHORS * POSTS_PER_AUTHOR);
+        for (int author = 0; author < AUTHORS; author++) {
+            for (int post = 0; post < POSTS_PER_AUTHOR; post++) {
+                posts.add(Post.builder()
+                        .userId("benchmark-author-" + author)
+                        .content("post " + post)
+                        .publicationDate(now.minusMinutes(post))
+                        .build());
+            }
+        }
+        mongoTemplate.insertAll(posts);
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        mongoTemplate.getDb().drop();
+    }
+
+    @Test
+    void measureSpecificUserFeedThroughput() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        run(client, WARMUP);
+        long[] latencies = run(client, MEASUREMENT);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-16s clients=%d requests/s=%.0f p50=%.2fms p99=%.2fms%n", mode(), CLIENTS,
+                latencies.length / (double) MEASUREMENT.toSeconds(),
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[latencies.length * 99 / 100] / 1_000_000.0);
+    }
+
+    private long[] run(HttpClient client, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int clientId = i;
+                clients.submit(() -> {
+                    int request = 0;
+                    while (System.nanoTime() < deadline) {
+                        String author = "benchmark-author-" + ((clientId + request++) % AUTHORS);
+                        HttpRequest httpRequest = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/v1/feed/specific/" + author + "?size=20")).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        assertEquals(0, failures.get());
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+}
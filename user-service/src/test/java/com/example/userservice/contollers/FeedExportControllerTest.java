@@ -0,0 +1,83 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.services.feed.PostExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FeedExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostExportService postExportService;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testExportUserPosts() throws Exception {
+        System.out.println("Starting integration test: testExportUserPosts");
+
+        String ndjson = "{\"id\":\"post2\"}\n{\"id\":\"post1\"}\n";
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(postExportService).exportUserPosts(ArgumentMatchers.eq("user1"), ArgumentMatchers.any());
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/feed/specific/{userId}/export", "user1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+
+        System.out.println("User posts streamed as NDJSON.");
+    }
+
+    @Test
+    void testExportUserPosts_runsOnDedicatedAsyncExecutor() throws Exception {
+        System.out.println("Starting integration test: testExportUserPosts_runsOnDedicatedAsyncExecutor");
+
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(Thread.currentThread().getName().getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(postExportService).exportUserPosts(ArgumentMatchers.eq("user2"), ArgumentMatchers.any());
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/feed/specific/{userId}/export", "user2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("mvc-async-")));
+
+        System.out.println("Export streamed on the MVC async executor.");
+    }
+}
@@ -3,6 +3,9 @@ package com.example.userservice.contollers;
 import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
 import com.example.userservice.models.Comment;
 import com.example.userservice.models.Like;
+import com.example.userservice.pojos.CommentPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.services.interaction.InteractionQueue;
 import com.example.userservice.services.interaction.InteractionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -12,14 +15,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -36,6 +45,9 @@ class InteractionControllerTest {
     @MockBean
     private InteractionService interactionService;
 
+    @MockBean
+    private InteractionQueue interactionQueue;
+
     @MockBean
     RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
 
@@ -72,6 +84,30 @@ class InteractionControllerTest {
         System.out.println("Comment posted successfully: " + responseComment.getId());
     }
 
+    @Test
+    void testGetComments() throws Exception {
+        System.out.println("Starting integration test: testGetComments");
+
+        String postId = "123";
+        PageCursor cursor = PageCursor.ofId("comment9");
+
+        Comment mockComment = new Comment();
+        mockComment.setId("comment1");
+        mockComment.setPostId(postId);
+
+        Mockito.when(interactionService.getComments(postId, cursor, 5))
+                .thenReturn(CommentPage.builder().comments(List.of(mockComment)).nextCursor("next").build());
+
+        mockMvc.perform(get("/api/v1/interactions/comment/{postId}", postId)
+                        .param("cursor", cursor.encode())
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].id").value("comment1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        System.out.println("Comments retrieved successfully for post: " + postId);
+    }
+
     @Test
     void testDeleteComment() throws Exception {
         System.out.println("Starting integration test: testDeleteComment");
@@ -135,4 +171,37 @@ class InteractionControllerTest {
         assertEquals(200, result.getResponse().getStatus());
         System.out.println("Like removed successfully from post: " + postId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddLike_queuedInAsyncMode() throws Exception {
+        System.out.println("Starting integration test: testAddLike_queuedInAsyncMode");
+
+        Mockito.when(interactionQueue.isEnabled()).thenReturn(true);
+        Mockito.when(interactionQueue.submitLike("123", "user1")).thenReturn("op-1");
+
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "123")
+                        .param("userId", "user1"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.operationId").value("op-1"));
+
+        Mockito.verifyNoInteractions(interactionService);
+        System.out.println("Like queued with operation id op-1.");
+    }
+
+    @Test
+    void testPostComment_rejectedWhenQueueIsFull() throws Exception {
+        System.out.println("Starting integration test: testPostComment_rejectedWhenQueueIsFull");
+
+        Mockito.when(interactionQueue.isEnabled()).thenReturn(true);
+        Mockito.when(interactionQueue.submitComment("123", "user1", "Hello"))
+                .thenThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many pending interactions, retry later"));
+
+        mockMvc.perform(post("/api/v1/interactions/comment/{postId}", "123")
+                        .param("userId", "user1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("Hello"))
+                .andExpect(status().isTooManyRequests());
+
+        System.out.println("Comment rejected with 429 while the queue is full.");
+    }
+}
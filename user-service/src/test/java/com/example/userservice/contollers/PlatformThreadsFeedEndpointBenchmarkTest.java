@@ -0,0 +1,16 @@
+package com.example.userservice.contollers;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@EnabledIfSystemProperty(named = "feed.benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {FeedEndpointThroughputBenchmark.BENCHMARK_PROPERTIES, FeedEndpointThroughputBenchmark.NO_PAGE_CACHE,
+                FeedEndpointThroughputBenchmark.NO_RATE_LIMIT})
+class PlatformThreadsFeedEndpointBenchmarkTest extends FeedEndpointThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
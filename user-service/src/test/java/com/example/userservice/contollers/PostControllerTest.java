@@ -0,0 +1,63 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Post;
+import com.example.userservice.services.feed.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private PostService postService;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testGetPostsByIds() throws Exception {
+        System.out.println("Starting integration test: testGetPostsByIds");
+
+        Post post1 = Post.builder().id("post1").userId("user1").content("First post content").build();
+        Post post2 = Post.builder().id("post2").userId("user2").content("Second post content").build();
+
+        Mockito.when(postService.getPostsByIds(Arrays.asList("post2", "post1", "missing")))
+                .thenReturn(Arrays.asList(post2, post1));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/posts/by-ids")
+                        .param("ids", "post2,post1,missing"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Post[] posts = objectMapper.readValue(result.getResponse().getContentAsString(), Post[].class);
+
+        assertEquals(2, posts.length);
+        assertEquals("post2", posts[0].getId());
+        assertEquals("post1", posts[1].getId());
+        System.out.println("Posts retrieved by ids successfully.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Like;
+import com.example.userservice.models.Post;
+import com.example.userservice.services.feed.FeedService;
+import com.example.userservice.services.interaction.InteractionQueue;
+import com.example.userservice.services.interaction.InteractionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"rate-limit.limits.like.capacity=2", "rate-limit.limits.like.refill-per-second=0.01",
+                "rate-limit.limits.post-batch.capacity=1", "rate-limit.limits.post-batch.refill-per-second=0.01"})
+class RateLimitControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InteractionService interactionService;
+
+    @MockBean
+    private InteractionQueue interactionQueue;
+
+    @MockBean
+    private FeedService feedService;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testAddLike_rejectedOnceBudgetIsSpent() throws Exception {
+        System.out.println("Starting integration test: testAddLike_rejectedOnceBudgetIsSpent");
+
+        Mockito.when(interactionService.addLike(anyString(), anyString())).thenReturn(new Like());
+
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "1").param("userId", "spender"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "2"))
+                .andExpect(header().string("X-RateLimit-Remaining", "1"));
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "2").param("userId", "spender"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"));
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "3").param("userId", "spender"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(header().string("Retry-After", "100"));
+
+        Mockito.verify(interactionService, Mockito.times(2)).addLike(anyString(), anyString());
+        System.out.println("Third like within the window was rejected with 429");
+    }
+
+    @Test
+    void testAddLike_budgetIsPerUser() throws Exception {
+        System.out.println("Starting integration test: testAddLike_budgetIsPerUser");
+
+        Mockito.when(interactionService.addLike(anyString(), anyString())).thenReturn(new Like());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/interactions/like/{postId}", "1").param("userId", "heavy"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "1").param("userId", "heavy"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/v1/interactions/like/{postId}", "1").param("userId", "light"))
+                .andExpect(status().isOk());
+        System.out.println("Another user kept their own budget");
+    }
+
+    @Test
+    void testCreatePosts_hasItsOwnBudget() throws Exception {
+        System.out.println("Starting integration test: testCreatePosts_hasItsOwnBudget");
+
+        Mockito.when(feedService.createPosts(anyList())).thenReturn(List.of());
+        Mockito.when(feedService.createPost(anyString(), anyString())).thenReturn(new Post());
+
+        mockMvc.perform(post("/api/v1/feed/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "1"));
+        mockMvc.perform(post("/api/v1/feed/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/v1/feed/{userId}", "author").contentType(MediaType.APPLICATION_JSON).content("Hello"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "10"));
+        System.out.println("Batch import limited separately from single posts");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.EnrichedFeedPage;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.services.feed.FeedHydrator;
+import com.example.userservice.services.feed.FeedService;
+import com.example.userservice.services.feed.ReactiveFeedService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles("reactive")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveUserFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveFeedService reactiveFeedService;
+
+    @MockBean
+    private FeedService feedService;
+
+    @MockBean
+    private FeedHydrator feedHydrator;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testGetSpecificUserFeed_isServedAsynchronously() throws Exception {
+        System.out.println("Starting integration test: testGetSpecificUserFeed_isServedAsynchronously");
+
+        String userId = "user1";
+        Post post1 = Post.builder().id("post2").userId(userId).content("Second post content").build();
+        Post post2 = Post.builder().id("post1").userId(userId).content("First post content").build();
+
+        Mockito.when(reactiveFeedService.getSpecificUserFeed(userId, null, 2))
+                .thenReturn(Flux.just(post1, post2));
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/feed/specific/{userId}", userId)
+                        .param("size", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        FeedPage responsePage = objectMapper.readValue(result.getResponse().getContentAsString(), FeedPage.class);
+        assertEquals(2, responsePage.getPosts().size());
+        assertEquals(PageCursor.ofId("post1"), PageCursor.decode(responsePage.getNextCursor()));
+        System.out.println("Reactive specific user feed retrieved successfully: " + responsePage);
+    }
+
+    @Test
+    void testGetUserFeed_isServedAsynchronously() throws Exception {
+        System.out.println("Starting integration test: testGetUserFeed_isServedAsynchronously");
+
+        Mockito.when(reactiveFeedService.getUserFeed("user1", null, 10)).thenReturn(Flux.empty());
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/feed/{userId}", "user1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        FeedPage responsePage = objectMapper.readValue(result.getResponse().getContentAsString(), FeedPage.class);
+        assertEquals(0, responsePage.getPosts().size());
+        System.out.println("Reactive user feed retrieved successfully: " + responsePage);
+    }
+
+    @Test
+    void testGetEnrichedUserFeed_isAvailableWithReactiveProfile() throws Exception {
+        System.out.println("Starting integration test: testGetEnrichedUserFeed_isAvailableWithReactiveProfile");
+
+        FeedPage page = FeedPage.builder().posts(List.of()).build();
+        Mockito.when(feedService.getUserFeed("user1", null, 10)).thenReturn(page);
+        Mockito.when(feedHydrator.hydrate(page, "user1")).thenReturn(EnrichedFeedPage.builder().posts(List.of()).build());
+
+        mockMvc.perform(get("/api/v1/feed/{userId}/enriched", "user1"))
+                .andExpect(status().isOk());
+
+        System.out.println("Enriched user feed served under the reactive profile.");
+    }
+
+    @Test
+    void testGetUserFeed_isRateLimitedOncePerRequest() throws Exception {
+        System.out.println("Starting integration test: testGetUserFeed_isRateLimitedOncePerRequest");
+
+        Mockito.when(reactiveFeedService.getUserFeed("limitedUser", null, 10)).thenReturn(Flux.empty());
+
+        for (String remaining : List.of("59", "58")) {
+            MvcResult asyncResult = mockMvc.perform(get("/api/v1/feed/{userId}", "limitedUser"))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().string("X-RateLimit-Remaining", remaining))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk());
+        }
+
+        System.out.println("Reactive feed charged one token per request.");
+    }
+}
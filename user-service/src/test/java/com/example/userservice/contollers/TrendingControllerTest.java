@@ -0,0 +1,52 @@
+package com.example.userservice.contollers;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.pojos.TrendingPost;
+import com.example.userservice.services.trending.TrendingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TrendingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @Test
+    void testGetTrending() throws Exception {
+        System.out.println("Starting integration test: testGetTrending");
+
+        Mockito.when(trendingService.getTrending(5)).thenReturn(List.of(
+                TrendingPost.builder().postId("post1").score(42).build(),
+                TrendingPost.builder().postId("post2").score(7).build()));
+
+        mockMvc.perform(get("/api/v1/trending").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].postId").value("post1"))
+                .andExpect(jsonPath("$[0].score").value(42))
+                .andExpect(jsonPath("$[1].postId").value("post2"));
+
+        System.out.println("Trending posts retrieved successfully.");
+    }
+}
@@ -2,8 +2,12 @@ package com.example.userservice.contollers;
 
 import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
 import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
 import com.example.userservice.services.feed.FeedService;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.example.userservice.services.subscription.FollowingCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +16,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +28,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -42,6 +45,9 @@ class UserFeedControllerTest {
     @MockBean
     private FeedService feedService;
 
+    @MockBean
+    private FollowingCache followingCache;
+
     @MockBean
     RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
 
@@ -50,7 +56,6 @@ class UserFeedControllerTest {
         System.out.println("Starting integration test: testGetUserFeed");
 
         String userId = "user1";
-        Pageable pageable = PageRequest.of(0, 10);
 
         Post post1 = Post.builder()
                 .id("post1")
@@ -68,18 +73,19 @@ class UserFeedControllerTest {
 
         List<Post> mockPosts = Arrays.asList(post1, post2);
 
-        Mockito.when(feedService.getUserFeed(userId, pageable)).thenReturn(mockPosts);
+        Mockito.when(feedService.getUserFeed(userId, null, 10))
+                .thenReturn(FeedPage.builder().posts(mockPosts).nextCursor("next").build());
 
         MvcResult result = mockMvc.perform(get("/api/v1/feed/{userId}", userId)
-                        .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andReturn();
 
         String jsonResponse = result.getResponse().getContentAsString();
-        List<Post> responsePosts = objectMapper.readValue(jsonResponse, new TypeReference<>() {
-        });
+        FeedPage responsePage = objectMapper.readValue(jsonResponse, FeedPage.class);
+        List<Post> responsePosts = responsePage.getPosts();
 
+        assertEquals("next", responsePage.getNextCursor());
         assertEquals(mockPosts.size(), responsePosts.size());
         assertEquals(mockPosts.get(0).getId(), responsePosts.get(0).getId());
         assertEquals(mockPosts.get(1).getId(), responsePosts.get(1).getId());
@@ -91,7 +97,6 @@ class UserFeedControllerTest {
         System.out.println("Starting integration test: testGetSpecificUserFeed");
 
         String userId = "user1";
-        Pageable pageable = PageRequest.of(0, 10);
 
         Post post1 = Post.builder()
                 .id("post1")
@@ -109,24 +114,78 @@ class UserFeedControllerTest {
 
         List<Post> mockPosts = Arrays.asList(post1, post2);
 
-        Mockito.when(feedService.getSpecificUserFeed(userId, pageable)).thenReturn(mockPosts);
+        Mockito.when(feedService.getSpecificUserFeed(userId, null, 10))
+                .thenReturn(FeedPage.builder().posts(mockPosts).nextCursor("next").build());
 
         MvcResult result = mockMvc.perform(get("/api/v1/feed/specific/{userId}", userId)
-                        .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andReturn();
 
         String jsonResponse = result.getResponse().getContentAsString();
-        List<Post> responsePosts = objectMapper.readValue(jsonResponse, new TypeReference<>() {
-        });
+        FeedPage responsePage = objectMapper.readValue(jsonResponse, FeedPage.class);
+        List<Post> responsePosts = responsePage.getPosts();
 
+        assertEquals("next", responsePage.getNextCursor());
         assertEquals(mockPosts.size(), responsePosts.size());
         assertEquals(mockPosts.get(0).getId(), responsePosts.get(0).getId());
         assertEquals(mockPosts.get(1).getId(), responsePosts.get(1).getId());
         System.out.println("Specific user feed retrieved successfully with " + responsePosts.size() + " posts.");
     }
 
+    @Test
+    void testGetSpecificUserFeed_servesFirstPageFromCache() throws Exception {
+        System.out.println("Starting integration test: testGetSpecificUserFeed_servesFirstPageFromCache");
+
+        String userId = "cachedUser";
+        Post post = Post.builder().id("post1").userId(userId).content("Cached post content").build();
+
+        Mockito.when(feedService.getSpecificUserFeed(userId, null, 10))
+                .thenReturn(FeedPage.builder().posts(List.of(post)).build());
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get("/api/v1/feed/specific/{userId}", userId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                    .andReturn();
+            FeedPage responsePage = objectMapper.readValue(result.getResponse().getContentAsString(), FeedPage.class);
+            assertEquals("post1", responsePage.getPosts().getFirst().getId());
+        }
+
+        Mockito.verify(feedService, Mockito.times(1)).getSpecificUserFeed(userId, null, 10);
+        System.out.println("Second request served from the feed page cache.");
+    }
+
+    @Test
+    void testGetSpecificUserFeed_withCursor() throws Exception {
+        System.out.println("Starting integration test: testGetSpecificUserFeed_withCursor");
+
+        String userId = "user1";
+        PageCursor cursor = PageCursor.ofId("post9");
+
+        Mockito.when(feedService.getSpecificUserFeed(userId, cursor, 5))
+                .thenReturn(FeedPage.builder().build());
+
+        mockMvc.perform(get("/api/v1/feed/specific/{userId}", userId)
+                        .param("cursor", cursor.encode())
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(feedService).getSpecificUserFeed(userId, cursor, 5);
+        System.out.println("Specific user feed read from cursor successfully.");
+    }
+
+    @Test
+    void testGetSpecificUserFeed_withInvalidCursor() throws Exception {
+        System.out.println("Starting integration test: testGetSpecificUserFeed_withInvalidCursor");
+
+        mockMvc.perform(get("/api/v1/feed/specific/{userId}", "user1")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        System.out.println("Invalid cursor rejected with 400.");
+    }
+
     @Test
     void testCreatePost() throws Exception {
         System.out.println("Starting integration test: testCreatePost");
@@ -157,4 +216,31 @@ class UserFeedControllerTest {
         assertEquals(mockPost.getContent(), responsePost.getContent());
         System.out.println("Post created successfully: " + responsePost.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreatePosts() throws Exception {
+        System.out.println("Starting integration test: testCreatePosts");
+
+        List<PostBatchItem> items = Arrays.asList(
+                PostBatchItem.builder().userId("user1").content("First batch post").build(),
+                PostBatchItem.builder().userId("user2").content("").build());
+        Post created = Post.builder().id("post1").userId("user1").content("First batch post").build();
+
+        Mockito.when(feedService.createPosts(items))
+                .thenReturn(Arrays.asList(PostBatchResult.created(0, created), PostBatchResult.failed(1, "userId and content are required")));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/feed/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        PostBatchResult[] results = objectMapper.readValue(result.getResponse().getContentAsString(), PostBatchResult[].class);
+
+        assertEquals(2, results.length);
+        assertEquals(PostBatchResult.Status.CREATED, results[0].getStatus());
+        assertEquals("post1", results[0].getPost().getId());
+        assertEquals(PostBatchResult.Status.FAILED, results[1].getStatus());
+        System.out.println("Batch of posts created with per-item results.");
+    }
+}
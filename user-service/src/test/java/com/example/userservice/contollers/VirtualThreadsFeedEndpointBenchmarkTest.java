@@ -0,0 +1,18 @@
+package com.example.userservice.contollers;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("virtual-threads")
+@EnabledIfSystemProperty(named = "feed.benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {FeedEndpointThroughputBenchmark.BENCHMARK_PROPERTIES, FeedEndpointThroughputBenchmark.NO_PAGE_CACHE,
+                FeedEndpointThroughputBenchmark.NO_RATE_LIMIT})
+class VirtualThreadsFeedEndpointBenchmarkTest extends FeedEndpointThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
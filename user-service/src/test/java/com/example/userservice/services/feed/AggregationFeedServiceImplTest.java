@@ -0,0 +1,84 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.repositories.FeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AggregationFeedServiceImplTest {
+
+    @Mock
+    private FeedServiceImpl feedServiceImpl;
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    private AggregationFeedServiceImpl aggregationFeedService;
+
+    @BeforeEach
+    void setUp() {
+        aggregationFeedService = new AggregationFeedServiceImpl(feedServiceImpl, feedRepository, false);
+    }
+
+    @Test
+    void getUserFeed_shouldReadHomeFeedWithSingleAggregation() {
+        System.out.println("Starting test: getUserFeed_shouldReadHomeFeedWithSingleAggregation");
+
+        LocalDateTime now = LocalDateTime.now();
+        Post post1 = Post.builder().id("p2").userId("user456").publicationDate(now).build();
+        Post post2 = Post.builder().id("p1").userId("user789").publicationDate(now.minusMinutes(1)).build();
+        PageCursor cursor = PageCursor.ofId("p3");
+
+        when(feedRepository.findHomeFeedPage("user123", cursor, 2)).thenReturn(Arrays.asList(post1, post2));
+
+        FeedPage userFeed = aggregationFeedService.getUserFeed("user123", cursor, 2);
+
+        assertEquals(Arrays.asList(post1, post2), userFeed.getPosts());
+        assertEquals(PageCursor.ofId("p1"), PageCursor.decode(userFeed.getNextCursor()));
+
+        System.out.println("Home feed assembled by aggregation: " + userFeed);
+    }
+
+    @Test
+    void createPostAndSpecificUserFeed_shouldDelegateToFeedService() {
+        System.out.println("Starting test: createPostAndSpecificUserFeed_shouldDelegateToFeedService");
+
+        Post post = Post.builder().id("p1").userId("user123").content("content").build();
+        FeedPage page = FeedPage.builder().build();
+
+        when(feedServiceImpl.createPost("user123", "content")).thenReturn(post);
+        when(feedServiceImpl.getSpecificUserFeed("user123", null, 10)).thenReturn(page);
+
+        assertSame(post, aggregationFeedService.createPost("user123", "content"));
+        assertSame(page, aggregationFeedService.getSpecificUserFeed("user123", null, 10));
+        verify(feedServiceImpl).createPost("user123", "content");
+
+        System.out.println("Create post and specific feed delegated successfully.");
+    }
+
+    @Test
+    void constructor_shouldFailWhenFanoutIsEnabled() {
+        System.out.println("Starting test: constructor_shouldFailWhenFanoutIsEnabled");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new AggregationFeedServiceImpl(feedServiceImpl, feedRepository, true));
+
+        assertEquals("feed.read-strategy=aggregation requires feed.fanout.enabled=false", exception.getMessage());
+        System.out.println("Startup rejected: " + exception.getMessage());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Like;
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.EnrichedFeedPage;
+import com.example.userservice.pojos.EnrichedPost;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.interaction.LikeCounterTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedHydratorTest {
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private LikeCounterTable likeCounterTable;
+
+    @InjectMocks
+    private FeedHydrator feedHydrator;
+
+    @Test
+    void hydrate_shouldEnrichPageWithTwoBatchedLookups() {
+        System.out.println("Starting test: hydrate_shouldEnrichPageWithTwoBatchedLookups");
+
+        Post timelinePost1 = Post.builder().id("p2").userId("author1").content("second").build();
+        Post timelinePost2 = Post.builder().id("p1").userId("author2").content("first").build();
+        FeedPage page = FeedPage.builder().posts(List.of(timelinePost1, timelinePost2)).nextCursor("next").build();
+
+        when(postCache.getAll(List.of("p2", "p1"))).thenReturn(Map.of(
+                "p2", timelinePost1.toBuilder().likeCount(7).commentCount(3).build(),
+                "p1", timelinePost2.toBuilder().likeCount(1).build()));
+        when(likeRepository.findByUserIdAndPostIdIn("viewer", List.of("p2", "p1")))
+                .thenReturn(List.of(Like.builder().postId("p1").userId("viewer").build()));
+        when(likeCounterTable.pendingDelta("p2")).thenReturn(0L);
+        when(likeCounterTable.pendingDelta("p1")).thenReturn(2L);
+
+        EnrichedFeedPage enriched = feedHydrator.hydrate(page, "viewer");
+
+        assertEquals("next", enriched.getNextCursor());
+        List<EnrichedPost> posts = enriched.getPosts();
+        assertEquals(List.of("p2", "p1"), posts.stream().map(p -> p.getPost().getId()).toList());
+        assertEquals(7, posts.get(0).getPost().getLikeCount());
+        assertEquals(3, posts.get(0).getPost().getCommentCount());
+        assertFalse(posts.get(0).isLikedByViewer());
+        assertEquals(3, posts.get(1).getPost().getLikeCount());
+        assertTrue(posts.get(1).isLikedByViewer());
+        verify(postCache).getAll(List.of("p2", "p1"));
+        verify(likeRepository).findByUserIdAndPostIdIn("viewer", List.of("p2", "p1"));
+        verifyNoMoreInteractions(postCache, likeRepository);
+
+        System.out.println("Page enriched: " + posts);
+    }
+
+    @Test
+    void hydrate_shouldSkipLookupsForEmptyPage() {
+        System.out.println("Starting test: hydrate_shouldSkipLookupsForEmptyPage");
+
+        EnrichedFeedPage enriched = feedHydrator.hydrate(FeedPage.builder().build(), "viewer");
+
+        assertTrue(enriched.getPosts().isEmpty());
+        assertNull(enriched.getNextCursor());
+        verifyNoInteractions(postCache, likeRepository);
+
+        System.out.println("Empty page enriched without queries.");
+    }
+}
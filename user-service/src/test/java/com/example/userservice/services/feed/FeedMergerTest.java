@@ -0,0 +1,66 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedMergerTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private Post post(String id, int minutesAgo) {
+        return Post.builder()
+                .id(id)
+                .userId("author-" + id)
+                .content("content " + id)
+                .publicationDate(now.minusMinutes(minutesAgo))
+                .build();
+    }
+
+    @Test
+    void merge_shouldInterleaveSortedStreamsNewestFirst() {
+        System.out.println("Starting test: merge_shouldInterleaveSortedStreamsNewestFirst");
+
+        List<Post> first = Arrays.asList(post("e", 1), post("c", 3), post("a", 5));
+        List<Post> second = Arrays.asList(post("d", 2), post("b", 4));
+
+        List<Post> merged = FeedMerger.merge(Arrays.asList(first, second), 10);
+
+        assertEquals(Arrays.asList("e", "d", "c", "b", "a"), merged.stream().map(Post::getId).toList());
+
+        System.out.println("Streams merged successfully: " + merged);
+    }
+
+    @Test
+    void merge_shouldLimitAndDropDuplicates() {
+        System.out.println("Starting test: merge_shouldLimitAndDropDuplicates");
+
+        Post shared = post("d", 2);
+        List<Post> first = Arrays.asList(post("e", 1), shared, post("b", 4));
+        List<Post> second = Arrays.asList(shared, post("c", 3));
+
+        List<Post> merged = FeedMerger.merge(Arrays.asList(first, second), 3);
+
+        assertEquals(Arrays.asList("e", "d", "c"), merged.stream().map(Post::getId).toList());
+
+        System.out.println("Merged page limited and deduplicated: " + merged);
+    }
+
+    @Test
+    void merge_shouldReturnEmptyPageForEmptyStreams() {
+        System.out.println("Starting test: merge_shouldReturnEmptyPageForEmptyStreams");
+
+        List<Post> merged = FeedMerger.merge(Arrays.asList(Collections.emptyList(), Collections.emptyList()), 10);
+
+        assertTrue(merged.isEmpty());
+
+        System.out.println("Empty streams merged into an empty page.");
+    }
+}
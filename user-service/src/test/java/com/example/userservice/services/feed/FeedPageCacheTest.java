@@ -0,0 +1,191 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.services.subscription.FollowingCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedPageCacheTest {
+
+    @Mock
+    private FollowingCache followingCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private FeedPageCache feedPageCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        feedPageCache = new FeedPageCache(objectMapper, followingCache, true, DataSize.ofKilobytes(4),
+                DataSize.ofMegabytes(1), 2, 2, true, DataSize.ofKilobytes(1), Duration.ofMinutes(1));
+    }
+
+    private Supplier<FeedPage> loader(int posts) {
+        return () -> {
+            loads.incrementAndGet();
+            List<Post> page = IntStream.range(0, posts)
+                    .mapToObj(i -> Post.builder().id("post" + i).userId("user456").content("content " + i).build())
+                    .toList();
+            return FeedPage.of(page, posts);
+        };
+    }
+
+    @Test
+    void getUserFeed_shouldServeRepeatedReadsFromCache() throws Exception {
+        System.out.println("Starting test: getUserFeed_shouldServeRepeatedReadsFromCache");
+
+        FeedPageCache.CachedPage first = feedPageCache.getUserFeed("user456", 10, loader(2));
+        FeedPageCache.CachedPage second = feedPageCache.getUserFeed("user456", 10, loader(2));
+
+        assertEquals(1, loads.get());
+        assertArrayEquals(first.body(), second.body());
+        FeedPage page = objectMapper.readValue(second.plainBody(), FeedPage.class);
+        assertEquals(Arrays.asList("post0", "post1"), page.getPosts().stream().map(Post::getId).toList());
+
+        System.out.println("Second read served from the page cache.");
+    }
+
+    @Test
+    void getUserFeed_shouldGzipLargePages() throws Exception {
+        System.out.println("Starting test: getUserFeed_shouldGzipLargePages");
+
+        FeedPageCache.CachedPage cached = feedPageCache.getUserFeed("user456", 100, loader(100));
+        FeedPageCache.CachedPage hit = feedPageCache.getUserFeed("user456", 100, loader(100));
+
+        assertTrue(hit.gzipped());
+        assertTrue(hit.body().length < hit.plainBody().length);
+        assertEquals(100, objectMapper.readValue(hit.plainBody(), FeedPage.class).getPosts().size());
+        assertArrayEquals(cached.body(), hit.body());
+
+        System.out.println("Large page stored gzipped: " + hit.body().length + " bytes");
+    }
+
+    @Test
+    void invalidateAuthor_shouldDropUserAndHomeFeedPages() {
+        System.out.println("Starting test: invalidateAuthor_shouldDropUserAndHomeFeedPages");
+
+        when(followingCache.getFollowedUserIds("user123")).thenReturn(Collections.singletonList("user456"));
+        feedPageCache.getUserFeed("user456", 10, loader(1));
+        feedPageCache.getHomeFeed("user123", 10, loader(1));
+
+        feedPageCache.invalidateAuthor("user456");
+        feedPageCache.getUserFeed("user456", 10, loader(1));
+        feedPageCache.getHomeFeed("user123", 10, loader(1));
+
+        assertEquals(4, loads.get());
+
+        System.out.println("Pages containing the author were invalidated.");
+    }
+
+    @Test
+    void invalidateReader_shouldOnlyDropHomeFeedPages() {
+        System.out.println("Starting test: invalidateReader_shouldOnlyDropHomeFeedPages");
+
+        when(followingCache.getFollowedUserIds("user123")).thenReturn(Collections.singletonList("user456"));
+        feedPageCache.getUserFeed("user123", 10, loader(1));
+        feedPageCache.getHomeFeed("user123", 10, loader(1));
+
+        feedPageCache.invalidateReader("user123");
+        feedPageCache.getUserFeed("user123", 10, loader(1));
+        feedPageCache.getHomeFeed("user123", 10, loader(1));
+
+        assertEquals(3, loads.get());
+
+        System.out.println("Only the reader's home feed was invalidated.");
+    }
+
+    @Test
+    void slabStore_shouldEvictLeastRecentlyUsedValuesWhenFull() {
+        System.out.println("Starting test: slabStore_shouldEvictLeastRecentlyUsedValuesWhenFull");
+
+        SlabStore store = new SlabStore(16, 32, 2);
+        store.put("a", List.of(), new byte[32], false, Long.MAX_VALUE, 0);
+        store.put("b", List.of(), new byte[32], false, Long.MAX_VALUE, 0);
+        store.get("a", 0);
+        store.put("c", List.of(), new byte[20], false, Long.MAX_VALUE, 0);
+
+        assertNotNull(store.get("a", 0));
+        assertNull(store.get("b", 0));
+        assertNotNull(store.get("c", 0));
+        assertEquals(64, store.usedBytes());
+        assertFalse(store.put("d", List.of(), new byte[65], false, Long.MAX_VALUE, 0));
+
+        System.out.println("Least recently used value evicted.");
+    }
+
+    @Test
+    void slabStore_shouldRoundTripValuesAcrossBlocksAndExpireThem() {
+        System.out.println("Starting test: slabStore_shouldRoundTripValuesAcrossBlocksAndExpireThem");
+
+        SlabStore store = new SlabStore(16, 64, 1);
+        byte[] value = new byte[50];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) i;
+        }
+        store.put("key", List.of("tag"), value, false, 100, 0);
+
+        assertArrayEquals(value, store.get("key", 99).body());
+        assertNull(store.get("key", 100));
+        assertEquals(0, store.size());
+        assertEquals(0, store.usedBytes());
+
+        System.out.println("Value read back across blocks and expired.");
+    }
+
+    @Test
+    void getUserFeed_shouldNotStorePageLoadedWhileAuthorPublished() {
+        System.out.println("Starting test: getUserFeed_shouldNotStorePageLoadedWhileAuthorPublished");
+
+        Supplier<FeedPage> racingLoader = () -> {
+            FeedPage page = loader(1).get();
+            feedPageCache.invalidateAuthor("user456");
+            return page;
+        };
+        feedPageCache.getUserFeed("user456", 10, racingLoader);
+        feedPageCache.getUserFeed("user456", 10, loader(1));
+        feedPageCache.getUserFeed("user456", 10, loader(1));
+
+        assertEquals(2, loads.get());
+
+        System.out.println("Page loaded before the invalidation was not cached.");
+    }
+
+    @Test
+    void slabStore_shouldRefuseValueWhoseTagWasInvalidatedDuringLoad() {
+        System.out.println("Starting test: slabStore_shouldRefuseValueWhoseTagWasInvalidatedDuringLoad");
+
+        SlabStore store = new SlabStore(16, 64, 1);
+        long generation = store.generation(List.of("author:a", "author:b"));
+        store.invalidateTag("author:b");
+
+        assertTrue(store.put("key", List.of("author:a", "author:b"), new byte[8], false, Long.MAX_VALUE, generation));
+        assertNull(store.get("key", 0));
+
+        long current = store.generation(List.of("author:a", "author:b"));
+        store.put("key", List.of("author:a", "author:b"), new byte[8], false, Long.MAX_VALUE, current);
+        assertNotNull(store.get("key", 0));
+
+        System.out.println("Stale value refused, fresh value stored.");
+    }
+}
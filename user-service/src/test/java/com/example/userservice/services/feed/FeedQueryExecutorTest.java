@@ -0,0 +1,53 @@
+package com.example.userservice.services.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedQueryExecutorTest {
+
+    private final FeedQueryExecutor feedQueryExecutor = new FeedQueryExecutor(1, false);
+
+    @AfterEach
+    void tearDown() {
+        feedQueryExecutor.destroy();
+    }
+
+    @Test
+    void submit_shouldRunQueriesOnFeedQueryThreads() throws Exception {
+        System.out.println("Starting test: submit_shouldRunQueriesOnFeedQueryThreads");
+
+        String threadName = feedQueryExecutor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(threadName.startsWith("feed-query-"));
+        System.out.println("Query ran on " + threadName);
+    }
+
+    @Test
+    void submit_shouldRunQueryOnCallerWhenAllThreadsAreBusy() throws Exception {
+        System.out.println("Starting test: submit_shouldRunQueryOnCallerWhenAllThreadsAreBusy");
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = feedQueryExecutor.submit(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "busy";
+        });
+
+        CompletableFuture<String> inline = feedQueryExecutor.submit(() -> Thread.currentThread().getName());
+
+        assertTrue(inline.isDone());
+        assertEquals(Thread.currentThread().getName(), inline.get());
+        release.countDown();
+        assertEquals("busy", busy.get(5, TimeUnit.SECONDS));
+        System.out.println("Query ran on the calling thread while the pool was busy.");
+    }
+}
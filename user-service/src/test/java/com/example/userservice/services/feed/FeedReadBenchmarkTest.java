@@ -0,0 +1,114 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.configs.RabbitMQDataUserReceiverConfig;
+import com.example.userservice.models.Post;
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.pojos.FeedPage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the home feed read paths against a live MongoDB. Seeds a reader following many
+ * authors, then times the pull path of {@link FeedServiceImpl} (two round trips plus chunked
+ * queries) against the single aggregation of {@link AggregationFeedServiceImpl}.
+ * <p>
+ * Run with {@code mvn test -Dtest=FeedReadBenchmarkTest -Dfeed.benchmark=true} while the
+ * MongoDB from docker-compose is up. Uses its own database, which is dropped afterwards.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "feed.benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.data.mongodb.database=user_data_benchmark",
+        "feed.read-strategy=aggregation",
+        "feed.fanout.enabled=false",
+        "mongodb.indexes.provision=true"
+})
+class FeedReadBenchmarkTest {
+
+    private static final String READER = "benchmark-reader";
+    private static final int AUTHORS = 1000;
+    private static final int POSTS_PER_AUTHOR = 20;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private FeedServiceImpl feedServiceImpl;
+
+    @Autowired
+    private AggregationFeedServiceImpl aggregationFeedService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    RabbitMQDataUserReceiverConfig rabbitMQDataUserReceiverConfig;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserSubscription> subscriptions = new ArrayList<>(AUTHORS);
+        List<Post> posts = new ArrayList<>(AUTHORS * POSTS_PER_AUTHOR);
+        for (int author = 0; author < AUTHORS; author++) {
+            String authorId = "benchmark-author-" + author;
+            subscriptions.add(UserSubscription.builder().userId(authorId).followerId(READER).build());
+            for (int post = 0; post < POSTS_PER_AUTHOR; post++) {
+                posts.add(Post.builder()
+                        .userId(authorId)
+                        .content("post " + post + " of " + authorId)
+                        .publicationDate(now.minusMinutes((long) post * AUTHORS + author))
+                        .build());
+            }
+        }
+        mongoTemplate.insertAll(subscriptions);
+        mongoTemplate.insertAll(posts);
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        mongoTemplate.getDb().drop();
+    }
+
+    @Test
+    void compareHomeFeedReadPaths() {
+        ReflectionTestUtils.setField(feedServiceImpl, "fanoutEnabled", false);
+
+        FeedPage pulled = feedServiceImpl.getUserFeed(READER, null, PAGE_SIZE);
+        FeedPage aggregated = aggregationFeedService.getUserFeed(READER, null, PAGE_SIZE);
+        assertEquals(pulled.getPosts().stream().map(Post::getId).toList(),
+                aggregated.getPosts().stream().map(Post::getId).toList());
+
+        report("pull (followees + chunked $in)", feedServiceImpl);
+        report("aggregation ($lookup)", aggregationFeedService);
+    }
+
+    private void report(String name, FeedService feedService) {
+        for (int i = 0; i < WARMUP; i++) {
+            feedService.getUserFeed(READER, null, PAGE_SIZE);
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            feedService.getUserFeed(READER, null, PAGE_SIZE);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-32s p50=%.2fms p99=%.2fms%n", name,
+                latencies[ITERATIONS / 2] / 1_000_000.0, latencies[ITERATIONS * 99 / 100] / 1_000_000.0);
+    }
+}
@@ -1,26 +1,41 @@
 package com.example.userservice.services.feed;
 
 import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
 import com.example.userservice.models.UserSubscription;
+import com.example.userservice.pojos.FeedPage;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.pojos.PostBatchItem;
+import com.example.userservice.pojos.PostBatchResult;
 import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.TimelineRepository;
 import com.example.userservice.repositories.UserSubscriptionRepository;
+import com.example.userservice.services.ids.PostIdGenerator;
+import com.example.userservice.services.subscription.FollowingCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,11 +48,31 @@ class FeedServiceImplTest {
     @Mock
     private UserSubscriptionRepository userSubscriptionRepository;
 
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @Mock
+    private HighFollowerAuthorCache highFollowerAuthorCache;
+
+    @Mock
+    private FollowingCache followingCache;
+
+    @Mock
+    private FeedPageCache feedPageCache;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private PostIdGenerator postIdGenerator;
+
+    @Spy
+    private FeedQueryExecutor feedQueryExecutor = new FeedQueryExecutor(2, false);
+
     @InjectMocks
     private FeedServiceImpl feedService;
 
     private Post post1, post2;
-    private UserSubscription subscription1, subscription2;
 
     @BeforeEach
     void setUp() {
@@ -53,15 +88,10 @@ class FeedServiceImplTest {
                 .publicationDate(LocalDateTime.now())
                 .build();
 
-        subscription1 = UserSubscription.builder()
-                .userId("user456")
-                .followerId("user123")
-                .build();
-
-        subscription2 = UserSubscription.builder()
-                .userId("user789")
-                .followerId("user123")
-                .build();
+        ReflectionTestUtils.setField(feedService, "fanoutEnabled", true);
+        ReflectionTestUtils.setField(feedService, "followerThreshold", 1000L);
+        ReflectionTestUtils.setField(feedService, "pullChunkSize", 500);
+        ReflectionTestUtils.setField(feedService, "batchMaxSize", 3);
     }
 
     @Test
@@ -86,24 +116,195 @@ class FeedServiceImplTest {
         System.out.println("Post saved and verified successfully: " + savedPost);
     }
 
+    @Test
+    void createPost_shouldFanOutToFollowerTimelines() {
+        System.out.println("Starting test: createPost_shouldFanOutToFollowerTimelines");
+
+        post2.setId("post2");
+        UserSubscription follower1 = UserSubscription.builder().userId("user456").followerId("user123").build();
+        UserSubscription follower2 = UserSubscription.builder().userId("user456").followerId("user789").build();
+
+        when(feedRepository.save(any(Post.class))).thenReturn(post2);
+        when(userSubscriptionRepository.countByUserId("user456")).thenReturn(2L);
+        when(userSubscriptionRepository.findByUserId("user456")).thenReturn(Arrays.asList(follower1, follower2));
+
+        feedService.createPost("user456", "This is the second post");
+
+        verify(timelineRepository).appendAll(argThat((List<TimelineEntry> entries) -> entries.size() == 2
+                && entries.get(0).getOwnerId().equals("user123")
+                && entries.get(1).getOwnerId().equals("user789")
+                && entries.stream().allMatch(e -> e.getPostId().equals("post2") && e.getAuthorId().equals("user456"))));
+
+        System.out.println("Post fanned out to follower timelines successfully.");
+    }
+
+    @Test
+    void createPost_shouldNotFanOutWhenDisabled() {
+        System.out.println("Starting test: createPost_shouldNotFanOutWhenDisabled");
+
+        ReflectionTestUtils.setField(feedService, "fanoutEnabled", false);
+        when(feedRepository.save(any(Post.class))).thenReturn(post1);
+
+        feedService.createPost("user123", "This is the first post");
+
+        verify(userSubscriptionRepository, never()).findByUserId("user123");
+        verify(timelineRepository, never()).appendAll(any());
+        verify(feedPageCache).invalidateAuthor("user123");
+
+        System.out.println("Fan-out skipped when disabled.");
+    }
+
+    @Test
+    void createPost_shouldRegisterHighFollowerAuthorInsteadOfFanningOut() {
+        System.out.println("Starting test: createPost_shouldRegisterHighFollowerAuthorInsteadOfFanningOut");
+
+        when(feedRepository.save(any(Post.class))).thenReturn(post2);
+        when(userSubscriptionRepository.countByUserId("user456")).thenReturn(5000L);
+
+        feedService.createPost("user456", "This is the second post");
+
+        verify(highFollowerAuthorCache).register("user456", 5000L);
+        verify(userSubscriptionRepository, never()).findByUserId("user456");
+        verify(timelineRepository, never()).appendAll(any());
+
+        System.out.println("High-follower author registered without fan-out.");
+    }
+
+    @Test
+    void createPosts_shouldBulkInsertAndReportPerItemResults() {
+        System.out.println("Starting test: createPosts_shouldBulkInsertAndReportPerItemResults");
+
+        List<PostBatchItem> items = Arrays.asList(
+                PostBatchItem.builder().userId("user456").content("first").build(),
+                PostBatchItem.builder().userId("user456").content("").build(),
+                PostBatchItem.builder().userId("user789").content("rejected").build());
+        UserSubscription follower = UserSubscription.builder().userId("user456").followerId("user123").build();
+
+        when(postIdGenerator.nextId()).thenReturn("p1", "p2");
+        when(feedRepository.insertAllUnordered(argThat(posts -> posts.size() == 2))).thenReturn(Map.of(1, "E11000 duplicate key"));
+        when(userSubscriptionRepository.countByUserId("user456")).thenReturn(1L);
+        when(userSubscriptionRepository.findByUserId("user456")).thenReturn(Collections.singletonList(follower));
+
+        List<PostBatchResult> results = feedService.createPosts(items);
+
+        assertEquals(3, results.size());
+        assertEquals(PostBatchResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("p1", results.get(0).getPost().getId());
+        assertEquals(PostBatchResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals("userId and content are required", results.get(1).getError());
+        assertEquals(PostBatchResult.Status.FAILED, results.get(2).getStatus());
+        assertEquals("E11000 duplicate key", results.get(2).getError());
+
+        verify(timelineRepository).appendAll(argThat((List<TimelineEntry> entries) -> entries.size() == 1
+                && entries.getFirst().getPostId().equals("p1") && entries.getFirst().getOwnerId().equals("user123")));
+        verify(userSubscriptionRepository, never()).countByUserId("user789");
+        verify(feedPageCache).invalidateAuthor("user456");
+        verify(feedPageCache, never()).invalidateAuthor("user789");
+
+        System.out.println("Batch processed with per-item results: " + results);
+    }
+
+    @Test
+    void createPosts_shouldRejectOversizedBatch() {
+        System.out.println("Starting test: createPosts_shouldRejectOversizedBatch");
+
+        List<PostBatchItem> items = Collections.nCopies(4, PostBatchItem.builder().userId("user123").content("post").build());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> feedService.createPosts(items));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(feedRepository, never()).insertAllUnordered(any());
+
+        System.out.println("Oversized batch rejected.");
+    }
+
+    @Test
+    void getUserFeed_shouldReadMaterializedTimeline() {
+        System.out.println("Starting test: getUserFeed_shouldReadMaterializedTimeline");
+
+        TimelineEntry entry = TimelineEntry.builder()
+                .ownerId("user123")
+                .postId("post2")
+                .authorId("user456")
+                .content("This is the second post")
+                .publicationDate(post2.getPublicationDate())
+                .build();
+
+        when(followingCache.getFollowedUserIds("user123"))
+                .thenReturn(Arrays.asList("user456", "user789"));
+        when(highFollowerAuthorCache.retainHighFollowerAuthors(Arrays.asList("user456", "user789")))
+                .thenReturn(Collections.emptyList());
+        when(timelineRepository.findPageByOwnerId("user123", null, 10))
+                .thenReturn(Collections.singletonList(entry));
+        when(postCache.getAll(List.of("post2")))
+                .thenReturn(Map.of("post2", post2.toBuilder().id("post2").likeCount(7).commentCount(3).build()));
+
+        FeedPage userFeed = feedService.getUserFeed("user123", null, 10);
+
+        assertEquals(1, userFeed.getPosts().size());
+        assertEquals("post2", userFeed.getPosts().getFirst().getId());
+        assertEquals("user456", userFeed.getPosts().getFirst().getUserId());
+        assertEquals("This is the second post", userFeed.getPosts().getFirst().getContent());
+        assertEquals(7, userFeed.getPosts().getFirst().getLikeCount());
+        assertEquals(3, userFeed.getPosts().getFirst().getCommentCount());
+        verify(feedRepository, never()).findPageByUserIdIn(any(), any(), anyInt());
+
+        System.out.println("User feed read from timeline successfully: " + userFeed);
+    }
+
+    @Test
+    void getUserFeed_shouldMergeHighFollowerAuthorPostsIntoTimeline() {
+        System.out.println("Starting test: getUserFeed_shouldMergeHighFollowerAuthorPostsIntoTimeline");
+
+        LocalDateTime now = LocalDateTime.now();
+        TimelineEntry older = TimelineEntry.builder()
+                .ownerId("user123").postId("p2").authorId("user456").content("old").publicationDate(now.minusHours(2))
+                .build();
+        Post celebrityPost = Post.builder()
+                .id("p3").userId("user789").content("celebrity").publicationDate(now.minusHours(1))
+                .build();
+        Post celebrityOlderPost = Post.builder()
+                .id("p1").userId("user789").content("celebrity older").publicationDate(now.minusHours(3))
+                .build();
+
+        when(followingCache.getFollowedUserIds("user123"))
+                .thenReturn(Arrays.asList("user456", "user789"));
+        when(highFollowerAuthorCache.retainHighFollowerAuthors(Arrays.asList("user456", "user789")))
+                .thenReturn(Collections.singletonList("user789"));
+        when(timelineRepository.findPageByOwnerId("user123", null, 2))
+                .thenReturn(Collections.singletonList(older));
+        when(postCache.getAll(List.of("p2"))).thenReturn(Map.of());
+        when(feedRepository.findPageByUserId("user789", null, 2))
+                .thenReturn(Arrays.asList(celebrityPost, celebrityOlderPost));
+
+        FeedPage userFeed = feedService.getUserFeed("user123", null, 2);
+
+        assertEquals(2, userFeed.getPosts().size());
+        assertEquals("p3", userFeed.getPosts().get(0).getId());
+        assertEquals("p2", userFeed.getPosts().get(1).getId());
+        assertEquals(PageCursor.ofId("p2"), PageCursor.decode(userFeed.getNextCursor()));
+
+        System.out.println("High-follower posts merged into user feed: " + userFeed);
+    }
+
     @Test
     void getUserFeed_shouldReturnPostsFromMultipleFollowedUsers() {
         System.out.println("Starting test: getUserFeed_shouldReturnPostsFromMultipleFollowedUsers");
 
-        Pageable pageable = PageRequest.of(0, 10);
+        ReflectionTestUtils.setField(feedService, "fanoutEnabled", false);
 
-        when(userSubscriptionRepository.findByFollowerId("user123"))
-                .thenReturn(Arrays.asList(subscription1, subscription2));
-        when(feedRepository.findByUserIdInOrderByPublicationDateDesc(
-                Arrays.asList("user456", "user789"), pageable))
+        when(followingCache.getFollowedUserIds("user123"))
+                .thenReturn(Arrays.asList("user456", "user789"));
+        when(feedRepository.findPageByUserIdIn(Arrays.asList("user456", "user789"), null, 10))
                 .thenReturn(Arrays.asList(post1, post2));
 
-        List<Post> userFeed = feedService.getUserFeed("user123", pageable);
+        FeedPage userFeed = feedService.getUserFeed("user123", null, 10);
 
         assertNotNull(userFeed);
-        assertEquals(2, userFeed.size());
-        assertEquals("user123", userFeed.get(0).getUserId());
-        assertEquals("user456", userFeed.get(1).getUserId());
+        assertEquals(2, userFeed.getPosts().size());
+        assertEquals("user123", userFeed.getPosts().get(0).getUserId());
+        assertEquals("user456", userFeed.getPosts().get(1).getUserId());
+        assertNull(userFeed.getNextCursor());
 
         System.out.println("User feed retrieved successfully: " + userFeed);
     }
@@ -112,55 +313,97 @@ class FeedServiceImplTest {
     void getUserFeed_shouldReturnEmptyListWhenNoFollowedUsersHavePosts() {
         System.out.println("Starting test: getUserFeed_shouldReturnEmptyListWhenNoFollowedUsersHavePosts");
 
-        Pageable pageable = PageRequest.of(0, 10);
+        ReflectionTestUtils.setField(feedService, "fanoutEnabled", false);
 
-        when(userSubscriptionRepository.findByFollowerId("user123"))
-                .thenReturn(Arrays.asList(subscription1, subscription2));
-        when(feedRepository.findByUserIdInOrderByPublicationDateDesc(
-                Arrays.asList("user456", "user789"), pageable))
+        when(followingCache.getFollowedUserIds("user123"))
+                .thenReturn(Arrays.asList("user456", "user789"));
+        when(feedRepository.findPageByUserIdIn(Arrays.asList("user456", "user789"), null, 10))
                 .thenReturn(Collections.emptyList());
 
-        List<Post> userFeed = feedService.getUserFeed("user123", pageable);
+        FeedPage userFeed = feedService.getUserFeed("user123", null, 10);
 
         assertNotNull(userFeed);
-        assertTrue(userFeed.isEmpty());
+        assertTrue(userFeed.getPosts().isEmpty());
+        assertNull(userFeed.getNextCursor());
 
         System.out.println("User feed retrieved as empty list when no posts found.");
     }
 
+    @Test
+    void getUserFeed_shouldQueryLargeFolloweeListsInChunksAndMergeThem() {
+        System.out.println("Starting test: getUserFeed_shouldQueryLargeFolloweeListsInChunksAndMergeThem");
+
+        ReflectionTestUtils.setField(feedService, "fanoutEnabled", false);
+        ReflectionTestUtils.setField(feedService, "pullChunkSize", 2);
+
+        LocalDateTime now = LocalDateTime.now();
+        Post newest = Post.builder().id("p3").userId("user3").publicationDate(now).build();
+        Post middle = Post.builder().id("p2").userId("user1").publicationDate(now.minusMinutes(1)).build();
+        Post oldest = Post.builder().id("p1").userId("user2").publicationDate(now.minusMinutes(2)).build();
+
+        when(followingCache.getFollowedUserIds("user123"))
+                .thenReturn(Arrays.asList("user1", "user2", "user3"));
+        when(feedRepository.findPageByUserIdIn(Arrays.asList("user1", "user2"), null, 2))
+                .thenReturn(Arrays.asList(middle, oldest));
+        when(feedRepository.findPageByUserIdIn(Collections.singletonList("user3"), null, 2))
+                .thenReturn(Collections.singletonList(newest));
+
+        FeedPage userFeed = feedService.getUserFeed("user123", null, 2);
+
+        assertEquals(Arrays.asList("p3", "p2"), userFeed.getPosts().stream().map(Post::getId).toList());
+        verify(feedQueryExecutor, times(2)).submit(any());
+
+        System.out.println("Chunked queries merged successfully: " + userFeed);
+    }
+
     @Test
     void getSpecificUserFeed_shouldReturnMultipleUserPosts() {
         System.out.println("Starting test: getSpecificUserFeed_shouldReturnMultipleUserPosts");
 
-        Pageable pageable = PageRequest.of(0, 10);
-
-        when(feedRepository.findByUserIdOrderByPublicationDateDesc("user123", pageable))
+        when(feedRepository.findPageByUserId("user123", null, 10))
                 .thenReturn(Arrays.asList(post1, post2));
 
-        List<Post> specificUserFeed = feedService.getSpecificUserFeed("user123", pageable);
+        FeedPage specificUserFeed = feedService.getSpecificUserFeed("user123", null, 10);
 
         assertNotNull(specificUserFeed);
-        assertEquals(2, specificUserFeed.size());
-        assertEquals("user123", specificUserFeed.get(0).getUserId());
-        assertEquals("user456", specificUserFeed.get(1).getUserId());
+        assertEquals(2, specificUserFeed.getPosts().size());
+        assertEquals("user123", specificUserFeed.getPosts().get(0).getUserId());
+        assertEquals("user456", specificUserFeed.getPosts().get(1).getUserId());
 
         System.out.println("Specific user feed retrieved successfully with multiple posts: " + specificUserFeed);
     }
 
+    @Test
+    void getSpecificUserFeed_shouldReturnCursorOfLastPostWhenPageIsFull() {
+        System.out.println("Starting test: getSpecificUserFeed_shouldReturnCursorOfLastPostWhenPageIsFull");
+
+        post1.setId("post1");
+        post2.setId("post2");
+        PageCursor cursor = PageCursor.ofId("post3");
+
+        when(feedRepository.findPageByUserId("user123", cursor, 2))
+                .thenReturn(Arrays.asList(post2, post1));
+
+        FeedPage specificUserFeed = feedService.getSpecificUserFeed("user123", cursor, 2);
+
+        assertEquals(PageCursor.ofId("post1"), PageCursor.decode(specificUserFeed.getNextCursor()));
+
+        System.out.println("Next cursor points at the last post of the page: " + specificUserFeed.getNextCursor());
+    }
+
     @Test
     void getSpecificUserFeed_shouldReturnEmptyListWhenUserHasNoPosts() {
         System.out.println("Starting test: getSpecificUserFeed_shouldReturnEmptyListWhenUserHasNoPosts");
 
-        Pageable pageable = PageRequest.of(0, 10);
-
-        when(feedRepository.findByUserIdOrderByPublicationDateDesc("user123", pageable))
+        when(feedRepository.findPageByUserId("user123", null, 10))
                 .thenReturn(Collections.emptyList());
 
-        List<Post> specificUserFeed = feedService.getSpecificUserFeed("user123", pageable);
+        FeedPage specificUserFeed = feedService.getSpecificUserFeed("user123", null, 10);
 
         assertNotNull(specificUserFeed);
-        assertTrue(specificUserFeed.isEmpty());
+        assertTrue(specificUserFeed.getPosts().isEmpty());
+        assertNull(specificUserFeed.getNextCursor());
 
         System.out.println("Specific user feed retrieved as empty list when no posts found.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.HighFollowerAuthor;
+import com.example.userservice.repositories.HighFollowerAuthorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HighFollowerAuthorCacheTest {
+
+    @Mock
+    private HighFollowerAuthorRepository highFollowerAuthorRepository;
+
+    private HighFollowerAuthorCache highFollowerAuthorCache;
+
+    @BeforeEach
+    void setUp() {
+        highFollowerAuthorCache = new HighFollowerAuthorCache(highFollowerAuthorRepository);
+    }
+
+    @Test
+    void retainHighFollowerAuthors_shouldLoadOnceAndIntersectLocally() {
+        System.out.println("Starting test: retainHighFollowerAuthors_shouldLoadOnceAndIntersectLocally");
+
+        when(highFollowerAuthorRepository.findAll()).thenReturn(List.of(author("celebrity")));
+
+        assertEquals(List.of("celebrity"), highFollowerAuthorCache.retainHighFollowerAuthors(List.of("user1", "celebrity")));
+        assertEquals(List.of(), highFollowerAuthorCache.retainHighFollowerAuthors(List.of("user1", "user2")));
+        verify(highFollowerAuthorRepository, times(1)).findAll();
+
+        System.out.println("High-follower authors intersected in memory");
+    }
+
+    @Test
+    void register_shouldSaveAndAddToLoadedSet() {
+        System.out.println("Starting test: register_shouldSaveAndAddToLoadedSet");
+
+        when(highFollowerAuthorRepository.findAll()).thenReturn(List.of());
+
+        assertFalse(highFollowerAuthorCache.isHighFollowerAuthor("celebrity"));
+        highFollowerAuthorCache.register("celebrity", 20_000L);
+
+        assertTrue(highFollowerAuthorCache.isHighFollowerAuthor("celebrity"));
+        verify(highFollowerAuthorRepository).save(argThat(author -> author.getId().equals("celebrity")
+                && author.getFollowerCount() == 20_000L));
+        verify(highFollowerAuthorRepository, times(1)).findAll();
+    }
+
+    @Test
+    void refresh_shouldPickUpAuthorsOfOtherInstancesAndKeepLocalOnes() {
+        System.out.println("Starting test: refresh_shouldPickUpAuthorsOfOtherInstancesAndKeepLocalOnes");
+
+        when(highFollowerAuthorRepository.findAll())
+                .thenReturn(List.of(author("first")))
+                .thenReturn(List.of(author("second")));
+
+        highFollowerAuthorCache.isHighFollowerAuthor("first");
+        highFollowerAuthorCache.refresh();
+
+        assertTrue(highFollowerAuthorCache.isHighFollowerAuthor("first"));
+        assertTrue(highFollowerAuthorCache.isHighFollowerAuthor("second"));
+    }
+
+    @Test
+    void refresh_shouldNotLoadBeforeFirstUse() {
+        System.out.println("Starting test: refresh_shouldNotLoadBeforeFirstUse");
+
+        highFollowerAuthorCache.refresh();
+
+        verify(highFollowerAuthorRepository, never()).findAll();
+    }
+
+    private HighFollowerAuthor author(String id) {
+        return HighFollowerAuthor.builder().id(id).build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.repositories.FeedRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostCacheTest {
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostCache postCache;
+
+    @BeforeEach
+    void setUp() {
+        postCache = new PostCache(feedRepository, meterRegistry, DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getAll_shouldLoadOnlyMissingPostsInOneQuery() {
+        System.out.println("Starting test: getAll_shouldLoadOnlyMissingPostsInOneQuery");
+
+        Post post1 = Post.builder().id("p1").userId("user123").content("first").build();
+        Post post2 = Post.builder().id("p2").userId("user123").content("second").build();
+
+        when(feedRepository.findAllByIdInOrder(Collections.singletonList("p1"))).thenReturn(Collections.singletonList(post1));
+        when(feedRepository.findAllByIdInOrder(argThat(ids -> ids != null && ids.size() == 2 && ids.containsAll(List.of("p2", "missing")))))
+                .thenReturn(Collections.singletonList(post2));
+
+        postCache.getAll(Collections.singletonList("p1"));
+        Map<String, Post> posts = postCache.getAll(Arrays.asList("p1", "p2", "missing"));
+
+        assertEquals(Map.of("p1", post1, "p2", post2), posts);
+        verify(feedRepository).findAllByIdInOrder(Collections.singletonList("p1"));
+        verify(feedRepository).findAllByIdInOrder(argThat(ids -> ids != null && ids.size() == 2));
+        verifyNoMoreInteractions(feedRepository);
+
+        System.out.println("Only missing posts were loaded: " + posts);
+    }
+
+    @Test
+    void getAll_shouldPublishHitAndMissMetrics() {
+        System.out.println("Starting test: getAll_shouldPublishHitAndMissMetrics");
+
+        Post post = Post.builder().id("p1").userId("user123").content("first").build();
+        when(feedRepository.findAllByIdInOrder(Collections.singletonList("p1"))).thenReturn(Collections.singletonList(post));
+
+        postCache.getAll(Collections.singletonList("p1"));
+        postCache.getAll(Collections.singletonList("p1"));
+        postCache.getAll(Collections.singletonList("p1"));
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tags("cache", "posts", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "posts", "result", "miss").functionCounter().count());
+
+        System.out.println("Post cache hit rate published.");
+    }
+
+    @Test
+    void applyCounterDelta_shouldUpdateCachedPostWithoutReloading() {
+        System.out.println("Starting test: applyCounterDelta_shouldUpdateCachedPostWithoutReloading");
+
+        Post post = Post.builder().id("p1").userId("user123").content("first").likeCount(4).build();
+        when(feedRepository.findAllByIdInOrder(Collections.singletonList("p1"))).thenReturn(Collections.singletonList(post));
+
+        postCache.getAll(Collections.singletonList("p1"));
+        postCache.applyCounterDelta("p1", 1, 2);
+        postCache.applyCounterDelta("not-cached", 1, 0);
+        Post cached = postCache.getAll(Collections.singletonList("p1")).get("p1");
+
+        assertEquals(5, cached.getLikeCount());
+        assertEquals(2, cached.getCommentCount());
+        assertEquals(4, post.getLikeCount());
+        verify(feedRepository).findAllByIdInOrder(Collections.singletonList("p1"));
+        verifyNoMoreInteractions(feedRepository);
+
+        System.out.println("Cached post counters updated in place: " + cached);
+    }
+
+    @Test
+    void estimateSize_shouldGrowWithContentLength() {
+        System.out.println("Starting test: estimateSize_shouldGrowWithContentLength");
+
+        Post shortPost = Post.builder().id("p1").userId("user123").content("hi").build();
+        Post longPost = Post.builder().id("p2").userId("user123").content("x".repeat(10_000)).build();
+
+        int shortSize = PostCache.estimateSize("p1", shortPost);
+        int longSize = PostCache.estimateSize("p2", longPost);
+
+        assertTrue(longSize > shortSize);
+        assertTrue(longSize >= 20_000);
+
+        System.out.println("Post weights: " + shortSize + " and " + longSize + " bytes");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.repositories.FeedRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostExportServiceImplTest {
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private PostExportServiceImpl postExportService;
+
+    @BeforeEach
+    void setUp() {
+        postExportService = new PostExportServiceImpl(feedRepository, objectMapper);
+        ReflectionTestUtils.setField(postExportService, "batchSize", 2);
+    }
+
+    @Test
+    void exportUserPosts_shouldWriteOnePostPerLineAndCloseTheCursor() throws Exception {
+        System.out.println("Starting test: exportUserPosts_shouldWriteOnePostPerLineAndCloseTheCursor");
+
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        Stream<Post> posts = Stream.of(
+                        Post.builder().id("p3").userId("user123").content("third").publicationDate(LocalDateTime.now()).build(),
+                        Post.builder().id("p2").userId("user123").content("second").build(),
+                        Post.builder().id("p1").userId("user123").content("first").build())
+                .onClose(() -> cursorClosed.set(true));
+        when(feedRepository.streamByUserId("user123", 2)).thenReturn(posts);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        postExportService.exportUserPosts("user123", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("p3", objectMapper.readValue(lines[0], Post.class).getId());
+        assertEquals("second", objectMapper.readValue(lines[1], Post.class).getContent());
+        assertEquals("p1", objectMapper.readValue(lines[2], Post.class).getId());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertTrue(cursorClosed.get());
+
+        System.out.println("Posts exported as NDJSON: " + out);
+    }
+
+    @Test
+    void exportUserPosts_shouldWriteNothingForUserWithoutPosts() throws Exception {
+        System.out.println("Starting test: exportUserPosts_shouldWriteNothingForUserWithoutPosts");
+
+        when(feedRepository.streamByUserId("user123", 2)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        postExportService.exportUserPosts("user123", out);
+
+        assertEquals(0, out.size());
+
+        System.out.println("Empty export written.");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostServiceImplTest {
+
+    @Mock
+    private PostCache postCache;
+
+    @InjectMocks
+    private PostServiceImpl postService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postService, "maxIds", 3);
+    }
+
+    @Test
+    void getPostsByIds_shouldKeepRequestOrderAndSkipMissingIds() {
+        System.out.println("Starting test: getPostsByIds_shouldKeepRequestOrderAndSkipMissingIds");
+
+        Post post1 = Post.builder().id("p1").build();
+        Post post3 = Post.builder().id("p3").build();
+
+        when(postCache.getAll(new LinkedHashSet<>(Arrays.asList("p3", "p2", "p1"))))
+                .thenReturn(Map.of("p1", post1, "p3", post3));
+
+        List<Post> posts = postService.getPostsByIds(Arrays.asList("p3", "p2", "p1", "p3"));
+
+        assertEquals(Arrays.asList(post3, post1), posts);
+
+        System.out.println("Posts returned in request order: " + posts);
+    }
+
+    @Test
+    void getPostsByIds_shouldRejectTooManyIds() {
+        System.out.println("Starting test: getPostsByIds_shouldRejectTooManyIds");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> postService.getPostsByIds(Arrays.asList("p1", "p2", "p3", "p4")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(postCache, never()).getAll(any());
+
+        System.out.println("Too many ids rejected.");
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.pojos.PageCursor;
+import com.example.userservice.repositories.ReactiveFeedRepository;
+import com.example.userservice.services.subscription.FollowingCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveFeedServiceImplTest {
+
+    @Mock
+    private ReactiveFeedRepository reactiveFeedRepository;
+
+    @Mock
+    private FollowingCache followingCache;
+
+    @Mock
+    private FeedService feedService;
+
+    private ReactiveFeedServiceImpl reactiveFeedService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveFeedService = new ReactiveFeedServiceImpl(reactiveFeedRepository, followingCache, feedService, false);
+        ReflectionTestUtils.setField(reactiveFeedService, "pullChunkSize", 500);
+    }
+
+    @Test
+    void getUserFeed_shouldReadPostsOfFollowedUsers() {
+        System.out.println("Starting test: getUserFeed_shouldReadPostsOfFollowedUsers");
+
+        Post post = Post.builder().id("p1").userId("user456").content("content").build();
+        PageCursor cursor = PageCursor.ofId("p2");
+
+        when(followingCache.getCachedFollowedUserIds("user123")).thenReturn(Arrays.asList("user456", "user789"));
+        when(reactiveFeedRepository.findPageByUserIdIn(Arrays.asList("user456", "user789"), cursor, 10))
+                .thenReturn(Flux.just(post));
+
+        List<Post> posts = reactiveFeedService.getUserFeed("user123", cursor, 10).collectList().block();
+
+        assertEquals(Collections.singletonList(post), posts);
+
+        verify(followingCache, never()).getFollowedUserIds(any());
+
+        System.out.println("Reactive user feed retrieved successfully: " + posts);
+    }
+
+    @Test
+    void getUserFeed_shouldLoadFollowedUsersThroughCacheOnMiss() {
+        System.out.println("Starting test: getUserFeed_shouldLoadFollowedUsersThroughCacheOnMiss");
+
+        Post post = Post.builder().id("p1").userId("user456").content("content").build();
+
+        when(followingCache.getCachedFollowedUserIds("user123")).thenReturn(null);
+        when(followingCache.getFollowedUserIds("user123")).thenReturn(Collections.singletonList("user456"));
+        when(reactiveFeedRepository.findPageByUserIdIn(Collections.singletonList("user456"), null, 10))
+                .thenReturn(Flux.just(post));
+
+        List<Post> posts = reactiveFeedService.getUserFeed("user123", null, 10).collectList().block();
+
+        assertEquals(Collections.singletonList(post), posts);
+
+        System.out.println("Followed users loaded through the following cache: " + posts);
+    }
+
+    @Test
+    void constructor_shouldRejectFanoutEnabled() {
+        System.out.println("Starting test: constructor_shouldRejectFanoutEnabled");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                new ReactiveFeedServiceImpl(reactiveFeedRepository, followingCache, feedService, true));
+
+        System.out.println("Reactive profile refused to start with fan-out enabled.");
+    }
+
+    @Test
+    void getUserFeed_shouldNotQueryPostsWhenFollowingNobody() {
+        System.out.println("Starting test: getUserFeed_shouldNotQueryPostsWhenFollowingNobody");
+
+        when(followingCache.getCachedFollowedUserIds("user123")).thenReturn(null);
+        when(followingCache.getFollowedUserIds("user123")).thenReturn(Collections.emptyList());
+
+        List<Post> posts = reactiveFeedService.getUserFeed("user123", null, 10).collectList().block();
+
+        assertNotNull(posts);
+        assertTrue(posts.isEmpty());
+        verify(reactiveFeedRepository, never()).findPageByUserIdIn(any(), any(), anyInt());
+
+        System.out.println("Empty reactive feed returned without querying posts.");
+    }
+
+    @Test
+    void getUserFeed_shouldMergeChunkedQueriesNewestFirst() {
+        System.out.println("Starting test: getUserFeed_shouldMergeChunkedQueriesNewestFirst");
+
+        ReflectionTestUtils.setField(reactiveFeedService, "pullChunkSize", 2);
+        Post newest = Post.builder().id("p3").userId("user3").build();
+        Post middle = Post.builder().id("p2").userId("user1").build();
+        Post oldest = Post.builder().id("p1").userId("user2").build();
+
+        when(followingCache.getCachedFollowedUserIds("user123")).thenReturn(Arrays.asList("user1", "user2", "user3"));
+        when(reactiveFeedRepository.findPageByUserIdIn(Arrays.asList("user1", "user2"), null, 2))
+                .thenReturn(Flux.just(middle, oldest));
+        when(reactiveFeedRepository.findPageByUserIdIn(Collections.singletonList("user3"), null, 2))
+                .thenReturn(Flux.just(newest));
+
+        List<Post> posts = reactiveFeedService.getUserFeed("user123", null, 2).collectList().block();
+
+        assertNotNull(posts);
+        assertEquals(Arrays.asList("p3", "p2"), posts.stream().map(Post::getId).toList());
+
+        System.out.println("Chunked reactive queries merged successfully: " + posts);
+    }
+
+    @Test
+    void createPost_shouldDelegateToFeedService() {
+        System.out.println("Starting test: createPost_shouldDelegateToFeedService");
+
+        Post post = Post.builder().id("p1").userId("user123").content("content").build();
+        when(feedService.createPost("user123", "content")).thenReturn(post);
+
+        assertEquals(post, reactiveFeedService.createPost("user123", "content").block());
+
+        System.out.println("Reactive post creation delegated successfully.");
+    }
+}
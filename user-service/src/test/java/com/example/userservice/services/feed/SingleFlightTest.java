@@ -0,0 +1,98 @@
+package com.example.userservice.services.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        System.out.println("Starting test: execute_shouldShareOneCallBetweenConcurrentCallers");
+
+        int callers = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("feed", () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "page";
+            })));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("feed", () -> {
+                    calls.incrementAndGet();
+                    return "other page";
+                })));
+            }
+
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+
+        System.out.println("Concurrent callers shared a single call.");
+    }
+
+    @Test
+    void execute_shouldRunAgainOnceThePreviousCallCompleted() {
+        System.out.println("Starting test: execute_shouldRunAgainOnceThePreviousCallCompleted");
+
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("feed", () -> "page " + calls.incrementAndGet());
+        String second = singleFlight.execute("feed", () -> "page " + calls.incrementAndGet());
+
+        assertEquals("page 2", second);
+
+        System.out.println("Completed calls are not cached.");
+    }
+
+    @Test
+    void execute_shouldPropagateFailureAndForgetTheCall() {
+        System.out.println("Starting test: execute_shouldPropagateFailureAndForgetTheCall");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("feed", () -> {
+                    throw new IllegalStateException("Mongo unavailable");
+                }));
+
+        assertEquals("Mongo unavailable", failure.getMessage());
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("page", singleFlight.execute("feed", () -> "page"));
+
+        System.out.println("Failure propagated and the key was released.");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.userservice.services.feed;
+
+import com.example.userservice.models.Post;
+import com.example.userservice.models.TimelineEntry;
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.TimelineRepository;
+import com.example.userservice.repositories.UserSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineBackfillTest {
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @Mock
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Mock
+    private HighFollowerAuthorCache highFollowerAuthorCache;
+
+    @InjectMocks
+    private TimelineBackfill timelineBackfill;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timelineBackfill, "fanoutEnabled", true);
+        ReflectionTestUtils.setField(timelineBackfill, "backfillSize", 2);
+    }
+
+    @Test
+    void backfillFollower_shouldCopyLatestPostsIntoTimeline() {
+        System.out.println("Starting test: backfillFollower_shouldCopyLatestPostsIntoTimeline");
+
+        when(highFollowerAuthorCache.isHighFollowerAuthor("author")).thenReturn(false);
+        when(feedRepository.findPageByUserId("author", null, 2)).thenReturn(List.of(post("2", "author"), post("1", "author")));
+
+        timelineBackfill.backfillFollower("author", "follower");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timelineRepository).appendAll(captor.capture());
+        assertEquals(List.of("2", "1"), captor.getValue().stream().map(TimelineEntry::getPostId).toList());
+        assertTrue(captor.getValue().stream().allMatch(entry -> entry.getOwnerId().equals("follower")
+                && entry.getAuthorId().equals("author")));
+        System.out.println("Latest posts copied: " + captor.getValue());
+    }
+
+    @Test
+    void backfillFollower_shouldSkipHighFollowerAuthors() {
+        System.out.println("Starting test: backfillFollower_shouldSkipHighFollowerAuthors");
+
+        when(highFollowerAuthorCache.isHighFollowerAuthor("celebrity")).thenReturn(true);
+
+        timelineBackfill.backfillFollower("celebrity", "follower");
+
+        verifyNoInteractions(feedRepository, timelineRepository);
+    }
+
+    @Test
+    void backfillFollower_shouldDoNothingWhenFanoutDisabled() {
+        System.out.println("Starting test: backfillFollower_shouldDoNothingWhenFanoutDisabled");
+
+        ReflectionTestUtils.setField(timelineBackfill, "fanoutEnabled", false);
+
+        timelineBackfill.backfillFollower("author", "follower");
+
+        verifyNoInteractions(feedRepository, timelineRepository, highFollowerAuthorCache);
+    }
+
+    @Test
+    void backfillAll_shouldReadEachAuthorOnce() {
+        System.out.println("Starting test: backfillAll_shouldReadEachAuthorOnce");
+
+        when(userSubscriptionRepository.findAllByOrderByUserIdAsc()).thenReturn(Stream.of(
+                subscription("a", "f1"), subscription("a", "f2"), subscription("b", "f1")));
+        when(highFollowerAuthorCache.isHighFollowerAuthor(any())).thenReturn(false);
+        when(feedRepository.findPageByUserId("a", null, 2)).thenReturn(List.of(post("a1", "a")));
+        when(feedRepository.findPageByUserId("b", null, 2)).thenReturn(List.of(post("b2", "b"), post("b1", "b")));
+
+        timelineBackfill.backfillAll();
+
+        verify(feedRepository, times(1)).findPageByUserId("a", null, 2);
+        verify(feedRepository, times(1)).findPageByUserId("b", null, 2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timelineRepository).appendAll(captor.capture());
+        assertEquals(List.of("f1:a1", "f2:a1", "f1:b2", "f1:b1"), captor.getValue().stream()
+                .map(entry -> entry.getOwnerId() + ":" + entry.getPostId())
+                .toList());
+        System.out.println("Backfilled entries: " + captor.getValue().size());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldNotBackfillByDefault() {
+        System.out.println("Starting test: afterSingletonsInstantiated_shouldNotBackfillByDefault");
+
+        timelineBackfill.afterSingletonsInstantiated();
+
+        verify(userSubscriptionRepository, never()).findAllByOrderByUserIdAsc();
+    }
+
+    private Post post(String id, String userId) {
+        return Post.builder().id(id).userId(userId).content("content " + id).publicationDate(now).build();
+    }
+
+    private UserSubscription subscription(String userId, String followerId) {
+        return UserSubscription.builder().userId(userId).followerId(followerId).build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.userservice.services.ids;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    private static Clock fixedClock(long millisAfterEpoch) {
+        return Clock.fixed(SnowflakeIdGenerator.EPOCH.plusMillis(millisAfterEpoch), ZoneOffset.UTC);
+    }
+
+    @Test
+    void nextId_shouldReturnStrictlyIncreasingFixedWidthIds() {
+        System.out.println("Starting test: nextId_shouldReturnStrictlyIncreasingFixedWidthIds");
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, Clock.systemUTC());
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(19, ids.get(i).length());
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, "ids must sort in creation order");
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+
+        System.out.println("Generated ids are unique and ordered, last id: " + ids.getLast());
+    }
+
+    @Test
+    void nextLong_shouldEncodeTimestampNodeAndSequence() {
+        System.out.println("Starting test: nextLong_shouldEncodeTimestampNodeAndSequence");
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, fixedClock(1_000));
+
+        long first = generator.nextLong();
+        long second = generator.nextLong();
+
+        assertEquals(1_000, first >>> 22);
+        assertEquals(5, (first >>> 12) & 1023);
+        assertEquals(0, first & 4095);
+        assertEquals(1, second & 4095);
+
+        System.out.println("Id fields decoded successfully: " + first);
+    }
+
+    @Test
+    void nextLong_shouldWaitForNextMillisecondWhenSequenceIsExhausted() {
+        System.out.println("Starting test: nextLong_shouldWaitForNextMillisecondWhenSequenceIsExhausted");
+
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH.plusMillis(1_000));
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock);
+
+        for (int i = 0; i < 4096; i++) {
+            generator.nextLong();
+        }
+        clock.reads = 0;
+        clock.advanceAfterReads = 3;
+        long last = generator.nextLong();
+
+        assertEquals(1_001, last >>> 22);
+        assertEquals(0, last & 4095);
+        assertTrue(clock.reads > 3, "the generator must have waited for the clock to advance");
+
+        System.out.println("Sequence overflow waited for the next millisecond.");
+    }
+
+    @Test
+    void nextLong_shouldNotGoBackwardsWhenClockIsSetBack() {
+        System.out.println("Starting test: nextLong_shouldNotGoBackwardsWhenClockIsSetBack");
+
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH.plusMillis(5_000));
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock);
+
+        long beforeSkew = generator.nextLong();
+        clock.instant = SnowflakeIdGenerator.EPOCH.plusMillis(4_000);
+        long afterSkew = generator.nextLong();
+
+        assertTrue(afterSkew > beforeSkew);
+
+        System.out.println("Ids kept increasing across a clock skew.");
+    }
+
+    @Test
+    void constructor_shouldRejectNodeIdOutOfRange() {
+        System.out.println("Starting test: constructor_shouldRejectNodeIdOutOfRange");
+
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, Clock.systemUTC()));
+
+        System.out.println("Out of range node ids rejected.");
+    }
+
+    @Test
+    void fromObjectId_shouldMapLegacyIdsDeterministicallyInCreationOrder() {
+        System.out.println("Starting test: fromObjectId_shouldMapLegacyIdsDeterministicallyInCreationOrder");
+
+        ObjectId first = new ObjectId("660000000102030405000001");
+        ObjectId second = new ObjectId("660000000102030405000002");
+        ObjectId nextSecond = new ObjectId("66000001aabbccddee000000");
+
+        String firstId = SnowflakeIdGenerator.fromObjectId(first);
+        String secondId = SnowflakeIdGenerator.fromObjectId(second);
+        String nextSecondId = SnowflakeIdGenerator.fromObjectId(nextSecond);
+        String newId = new SnowflakeIdGenerator(0, Clock.systemUTC()).nextId();
+
+        assertEquals(firstId, SnowflakeIdGenerator.fromObjectId(first));
+        assertEquals(19, firstId.length());
+        assertTrue(firstId.compareTo(secondId) < 0, "ids of one process keep their counter order");
+        assertTrue(secondId.compareTo(nextSecondId) < 0, "ids of a later second sort after");
+        assertTrue(nextSecondId.compareTo(newId) < 0, "legacy ids sort before newly generated ones");
+
+        System.out.println("Legacy ids mapped to " + firstId + ", " + secondId + ", " + nextSecondId);
+    }
+
+    @Test
+    void fromObjectId_shouldRejectIdsBeforeEpoch() {
+        System.out.println("Starting test: fromObjectId_shouldRejectIdsBeforeEpoch");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SnowflakeIdGenerator.fromObjectId(new ObjectId("600000000102030405000001")));
+    }
+
+    @Test
+    void resolveNodeId_shouldPreferPropertyThenHostnameOrdinal() {
+        System.out.println("Starting test: resolveNodeId_shouldPreferPropertyThenHostnameOrdinal");
+
+        assertEquals(7, SnowflakeIdGenerator.resolveNodeId("7", "user-service-3", false));
+        assertEquals(3, SnowflakeIdGenerator.resolveNodeId("", "user-service-3", false));
+        assertEquals(0, SnowflakeIdGenerator.resolveNodeId(null, "3f2a9c1b0d12", true));
+
+        System.out.println("Node id resolved from property, hostname and dev profile.");
+    }
+
+    @Test
+    void resolveNodeId_shouldFailWithoutNodeIdOutsideDevProfile() {
+        System.out.println("Starting test: resolveNodeId_shouldFailWithoutNodeIdOutsideDevProfile");
+
+        assertThrows(IllegalStateException.class, () -> SnowflakeIdGenerator.resolveNodeId(" ", "3f2a9c1b0d12", false));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.resolveNodeId("node-a", null, false));
+
+        System.out.println("Missing node id rejected at startup.");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+        private int reads;
+        private int advanceAfterReads = Integer.MAX_VALUE;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            if (++reads > advanceAfterReads) {
+                instant = instant.plusMillis(1);
+                advanceAfterReads = Integer.MAX_VALUE;
+            }
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.models.Comment;
+import com.example.userservice.models.Like;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionQueueTest {
+
+    @Mock
+    private InteractionService interactionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InteractionQueue interactionQueue;
+
+    @BeforeEach
+    void setUp() {
+        interactionQueue = new InteractionQueue(interactionService, meterRegistry, true, 3, 1, 10, 3, 0, false);
+    }
+
+    @Test
+    void submit_shouldRejectWith429WhenQueueIsFull() {
+        System.out.println("Starting test: submit_shouldRejectWith429WhenQueueIsFull");
+
+        interactionQueue.submitLike("post1", "user1");
+        interactionQueue.submitLike("post1", "user2");
+        interactionQueue.submitComment("post1", "user3", "Nice");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                interactionQueue.submitLike("post1", "user4"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertEquals(3, interactionQueue.depth());
+        assertEquals(1.0, meterRegistry.get("interactions.queue.rejected").counter().count());
+        verifyNoInteractions(interactionService);
+
+        System.out.println("Full queue rejected the request with 429.");
+    }
+
+    @Test
+    void submit_shouldRejectInvalidRequestsBeforeQueueing() {
+        System.out.println("Starting test: submit_shouldRejectInvalidRequestsBeforeQueueing");
+
+        assertThrows(ResponseStatusException.class, () -> interactionQueue.submitComment("post1", "user1", " "));
+        assertThrows(ResponseStatusException.class, () -> interactionQueue.submitLike("post1", ""));
+
+        assertEquals(0, interactionQueue.depth());
+
+        System.out.println("Invalid requests rejected without queueing.");
+    }
+
+    @Test
+    void drainBatch_shouldPersistQueuedWritesInOneBatch() {
+        System.out.println("Starting test: drainBatch_shouldPersistQueuedWritesInOneBatch");
+
+        String operationId = interactionQueue.submitComment("post1", "user1", "Nice");
+        interactionQueue.submitLike("post2", "user1");
+        interactionQueue.submitUnlike("post2", "user1");
+
+        assertNotNull(operationId);
+        assertTrue(interactionQueue.drainBatch());
+        assertFalse(interactionQueue.drainBatch());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Comment>> comments = ArgumentCaptor.forClass(List.class);
+        verify(interactionService).applyBatch(comments.capture(),
+                eq(List.of()),
+                eq(List.of(Like.builder().postId("post2").userId("user1").build())));
+        assertEquals(1, comments.getValue().size());
+        assertEquals("Nice", comments.getValue().getFirst().getContent());
+        assertNotNull(comments.getValue().getFirst().getPublicationDate());
+        assertNotNull(comments.getValue().getFirst().getId());
+
+        System.out.println("Queued writes persisted in one batch.");
+    }
+
+    @Test
+    void start_shouldPersistQueuedWritesOnWorkerThreads() throws Exception {
+        System.out.println("Starting test: start_shouldPersistQueuedWritesOnWorkerThreads");
+
+        interactionQueue.start();
+        interactionQueue.submitLike("post1", "user1");
+
+        verify(interactionService, timeout(2000)).applyBatch(List.of(),
+                List.of(Like.builder().postId("post1").userId("user1").build()), List.of());
+
+        interactionQueue.stop();
+        assertEquals(0, interactionQueue.depth());
+
+        System.out.println("Worker persisted the queued like.");
+    }
+
+    @Test
+    void start_shouldUseVirtualWorkerThreadsWhenEnabled() throws Exception {
+        System.out.println("Starting test: start_shouldUseVirtualWorkerThreadsWhenEnabled");
+
+        InteractionQueue virtualQueue = new InteractionQueue(interactionService, meterRegistry, true, 3, 1, 10, 3, 0, true);
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        doAnswer(invocation -> virtual.complete(Thread.currentThread().isVirtual()))
+                .when(interactionService).applyBatch(anyList(), anyList(), anyList());
+
+        virtualQueue.start();
+        virtualQueue.submitLike("post1", "user1");
+
+        assertTrue(virtual.get(2, TimeUnit.SECONDS));
+        virtualQueue.stop();
+
+        System.out.println("Worker ran on a virtual thread.");
+    }
+
+    @Test
+    void drainBatch_shouldRetryFailedBatchWithSameCommentIds() {
+        System.out.println("Starting test: drainBatch_shouldRetryFailedBatchWithSameCommentIds");
+
+        interactionQueue.submitComment("post1", "user1", "Nice");
+        doThrow(new RuntimeException("Mongo unavailable"))
+                .doNothing()
+                .when(interactionService).applyBatch(anyList(), anyList(), anyList());
+
+        assertTrue(interactionQueue.drainBatch());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Comment>> comments = ArgumentCaptor.forClass(List.class);
+        verify(interactionService, times(2)).applyBatch(comments.capture(), eq(List.of()), eq(List.of()));
+        assertEquals(comments.getAllValues().get(0).getFirst().getId(), comments.getAllValues().get(1).getFirst().getId());
+        assertEquals(0.0, meterRegistry.get("interactions.queue.dead_lettered").counter().count());
+
+        System.out.println("Failed batch persisted on retry with the same comment id.");
+    }
+
+    @Test
+    void drainBatch_shouldDeadLetterBatchAfterMaxAttempts() {
+        System.out.println("Starting test: drainBatch_shouldDeadLetterBatchAfterMaxAttempts");
+
+        interactionQueue.submitLike("post1", "user1");
+        interactionQueue.submitLike("post2", "user1");
+        doThrow(new RuntimeException("Mongo unavailable"))
+                .when(interactionService).applyBatch(anyList(), anyList(), anyList());
+
+        assertTrue(interactionQueue.drainBatch());
+
+        verify(interactionService, times(3)).applyBatch(anyList(), anyList(), anyList());
+        assertEquals(2.0, meterRegistry.get("interactions.queue.dead_lettered").counter().count());
+        assertEquals(0, interactionQueue.depth());
+
+        System.out.println("Batch dead-lettered after three failed attempts.");
+    }
+}
@@ -2,8 +2,13 @@ package com.example.userservice.services.interaction;
 
 import com.example.userservice.models.Comment;
 import com.example.userservice.models.Like;
+import com.example.userservice.pojos.CommentPage;
+import com.example.userservice.pojos.PageCursor;
 import com.example.userservice.repositories.CommentRepository;
+import com.example.userservice.repositories.FeedRepository;
 import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.feed.PostCache;
+import com.example.userservice.services.trending.TrendingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +18,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +42,25 @@ class InteractionServiceImplTest {
     @Mock
     private LikeRepository likeRepository;
 
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @Mock
+    private LikeCounterTable likeCounterTable;
+
+    @Mock
+    private TrendingService trendingService;
+
     @InjectMocks
     private InteractionServiceImpl interactionService;
 
     private Comment comment;
-    private Like like;
 
     @BeforeEach
     void setUp() {
@@ -40,18 +69,13 @@ class InteractionServiceImplTest {
                 .userId("user456")
                 .content("This is a comment")
                 .build();
-
-        like = Like.builder()
-                .postId("post123")
-                .userId("user456")
-                .build();
     }
 
     @Test
     void addComment_shouldSaveAndReturnComment() {
         System.out.println("Starting test: addComment_shouldSaveAndReturnComment");
 
-        when(commentRepository.save(comment)).thenReturn(comment);
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
         Comment savedComment = interactionService.addComment("post123", "user456", "This is a comment");
 
@@ -63,6 +87,8 @@ class InteractionServiceImplTest {
         verify(commentRepository).save(
                 argThat(c -> c.getPostId().equals("post123") && c.getUserId().equals("user456") && c.getContent().equals("This is a comment"))
         );
+        verify(feedRepository).incrementCommentCount("post123", 1);
+        verify(postCache).applyCounterDelta("post123", 0, 1);
 
         System.out.println("Comment saved and verified successfully: " + savedComment);
     }
@@ -74,26 +100,62 @@ class InteractionServiceImplTest {
         interactionService.deleteComment("comment789", "user456");
 
         verify(commentRepository).deleteByIdAndUserId("comment789", "user456");
+        verify(feedRepository, never()).incrementCommentCount(anyString(), anyLong());
 
         System.out.println("Comment deletion verified for comment ID: comment789 and user ID: user456");
     }
 
+    @Test
+    void deleteComment_shouldDecrementCommentCountOfDeletedComment() {
+        System.out.println("Starting test: deleteComment_shouldDecrementCommentCountOfDeletedComment");
+
+        when(commentRepository.deleteByIdAndUserId("comment789", "user456")).thenReturn(List.of(comment));
+
+        interactionService.deleteComment("comment789", "user456");
+
+        verify(feedRepository).incrementCommentCount("post123", -1);
+        verify(postCache).applyCounterDelta("post123", 0, -1);
+
+        System.out.println("Comment count decremented for post ID: post123");
+    }
+
+    @Test
+    void getComments_shouldReturnPageWithCursorOfLastComment() {
+        System.out.println("Starting test: getComments_shouldReturnPageWithCursorOfLastComment");
+
+        LocalDateTime publicationDate = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Comment newer = Comment.builder().id("c2").postId("post123").publicationDate(publicationDate.plusMinutes(1)).build();
+        Comment older = Comment.builder().id("c1").postId("post123").publicationDate(publicationDate).build();
+        PageCursor after = PageCursor.of(publicationDate.plusMinutes(2), "c3");
+
+        when(commentRepository.findPageByPostId("post123", after, 2)).thenReturn(List.of(newer, older));
+
+        CommentPage page = interactionService.getComments("post123", after, 2);
+
+        assertEquals(List.of(newer, older), page.getComments());
+        assertEquals(PageCursor.of(publicationDate, "c1"), PageCursor.decode(page.getNextCursor()));
+
+        System.out.println("Comment page read with next cursor: " + page.getNextCursor());
+    }
+
     @Test
     void addLike_shouldSaveAndReturnLike() {
         System.out.println("Starting test: addLike_shouldSaveAndReturnLike");
 
-        when(likeRepository.existsByPostIdAndUserId("post123", "user456")).thenReturn(false);
-        when(likeRepository.save(like)).thenReturn(like);
+        when(likeRepository.insertIfAbsent("post123", "user456")).thenReturn("like789");
 
         Like savedLike = interactionService.addLike("post123", "user456");
 
         assertNotNull(savedLike);
+        assertEquals("like789", savedLike.getId());
         assertEquals("post123", savedLike.getPostId());
         assertEquals("user456", savedLike.getUserId());
 
-        verify(likeRepository).save(
-                argThat(l -> l.getPostId().equals("post123") && l.getUserId().equals("user456"))
-        );
+        verify(likeRepository).insertIfAbsent("post123", "user456");
+        verify(likeRepository, never()).save(any(Like.class));
+        verify(likeCounterTable).add("post123", 1);
+        verify(trendingService).recordInteraction("post123");
+        verifyNoInteractions(feedRepository);
 
         System.out.println("Like saved and verified successfully: " + savedLike);
     }
@@ -102,7 +164,7 @@ class InteractionServiceImplTest {
     void addLike_shouldThrowExceptionWhenAlreadyLiked() {
         System.out.println("Starting test: addLike_shouldThrowExceptionWhenAlreadyLiked");
 
-        when(likeRepository.existsByPostIdAndUserId("post123", "user456")).thenReturn(true);
+        when(likeRepository.insertIfAbsent("post123", "user456")).thenReturn(null);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 interactionService.addLike("post123", "user456")
@@ -110,6 +172,7 @@ class InteractionServiceImplTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("User has already liked this post", exception.getReason());
+        verify(likeCounterTable, never()).add(anyString(), anyLong());
 
         System.out.println("Exception thrown as expected when trying to like an already liked post.");
     }
@@ -118,11 +181,12 @@ class InteractionServiceImplTest {
     void removeLike_shouldDeleteLikeWhenExists() {
         System.out.println("Starting test: removeLike_shouldDeleteLikeWhenExists");
 
-        when(likeRepository.existsByPostIdAndUserId("post123", "user456")).thenReturn(true);
+        when(likeRepository.deleteByPostIdAndUserId("post123", "user456")).thenReturn(1L);
 
         interactionService.removeLike("post123", "user456");
 
         verify(likeRepository).deleteByPostIdAndUserId("post123", "user456");
+        verify(likeCounterTable).add("post123", -1);
 
         System.out.println("Like deletion verified for post ID: post123 and user ID: user456");
     }
@@ -131,7 +195,7 @@ class InteractionServiceImplTest {
     void removeLike_shouldThrowExceptionWhenLikeDoesNotExist() {
         System.out.println("Starting test: removeLike_shouldThrowExceptionWhenLikeDoesNotExist");
 
-        when(likeRepository.existsByPostIdAndUserId("post123", "user456")).thenReturn(false);
+        when(likeRepository.deleteByPostIdAndUserId("post123", "user456")).thenReturn(0L);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 interactionService.removeLike("post123", "user456")
@@ -139,7 +203,78 @@ class InteractionServiceImplTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("Like does not exist and cannot be removed", exception.getReason());
+        verify(likeCounterTable, never()).add(anyString(), anyLong());
 
         System.out.println("Exception thrown as expected when trying to remove a non-existent like.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void addLike_shouldOnlyBufferLikeInWriteBehindMode() {
+        System.out.println("Starting test: addLike_shouldOnlyBufferLikeInWriteBehindMode");
+
+        when(likeWriteBuffer.isEnabled()).thenReturn(true);
+
+        Like bufferedLike = interactionService.addLike("post123", "user456");
+        interactionService.removeLike("post123", "user456");
+
+        assertEquals("post123", bufferedLike.getPostId());
+        verify(likeWriteBuffer).like("post123", "user456");
+        verify(likeWriteBuffer).unlike("post123", "user456");
+        verifyNoInteractions(likeRepository, feedRepository, postCache, likeCounterTable);
+
+        System.out.println("Like and unlike buffered without writing to MongoDB.");
+    }
+
+    @Test
+    void applyBatch_shouldPersistCommentsAndLikesInBulk() {
+        System.out.println("Starting test: applyBatch_shouldPersistCommentsAndLikesInBulk");
+
+        Comment second = Comment.builder().postId("post123").userId("user789").content("Another comment").build();
+        List<Like> likes = List.of(Like.builder().postId("post456").userId("user456").build());
+        when(commentRepository.insertAllIfAbsent(List.of(comment, second))).thenReturn(List.of(comment, second));
+        when(likeRepository.writeAll(likes, List.of())).thenReturn(Map.of("post456", 1L));
+
+        interactionService.applyBatch(List.of(comment, second), likes, List.of());
+
+        verify(feedRepository).incrementCommentCount("post123", 2);
+        verify(likeCounterTable).add("post456", 1L);
+        verify(trendingService).recordInteraction("post456");
+
+        System.out.println("Batch of comments and likes persisted.");
+    }
+
+    @Test
+    void applyBatch_shouldNotCountCommentsInsertedByEarlierAttempt() {
+        System.out.println("Starting test: applyBatch_shouldNotCountCommentsInsertedByEarlierAttempt");
+
+        Comment second = Comment.builder().id("c2").postId("post123").userId("user789").content("Another comment").build();
+        when(commentRepository.insertAllIfAbsent(List.of(comment, second))).thenReturn(List.of(second));
+
+        interactionService.applyBatch(List.of(comment, second), List.of(), List.of());
+
+        verify(feedRepository).incrementCommentCount("post123", 1);
+        verify(trendingService).recordInteraction("post123");
+        verifyNoInteractions(likeRepository);
+
+        System.out.println("Only the newly inserted comment was counted.");
+    }
+
+    @Test
+    void applyBatch_shouldNotRecordLikesWrittenByEarlierAttemptInTrending() {
+        System.out.println("Starting test: applyBatch_shouldNotRecordLikesWrittenByEarlierAttemptInTrending");
+
+        List<Like> likes = List.of(
+                Like.builder().postId("post456").userId("user456").build(),
+                Like.builder().postId("post456").userId("user789").build(),
+                Like.builder().postId("post789").userId("user456").build());
+        when(likeRepository.writeAll(likes, List.of())).thenReturn(Map.of("post456", 1L));
+
+        interactionService.applyBatch(List.of(), likes, List.of());
+
+        verify(likeCounterTable).add("post456", 1L);
+        verify(trendingService, times(1)).recordInteraction("post456");
+        verify(trendingService, never()).recordInteraction("post789");
+
+        System.out.println("Only the newly written like was recorded in trending.");
+    }
+}
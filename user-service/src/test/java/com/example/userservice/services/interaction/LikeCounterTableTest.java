@@ -0,0 +1,198 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.repositories.FeedRepository;
+import com.example.userservice.repositories.LikeRepository;
+import com.example.userservice.services.feed.PostCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LikeCounterTableTest {
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private PostCache postCache;
+
+    private LikeCounterTable likeCounterTable;
+
+    @BeforeEach
+    void setUp() {
+        likeCounterTable = new LikeCounterTable(feedRepository, likeRepository, postCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_shouldWriteSummedDeltasInOneBulkUpdate() {
+        System.out.println("Starting test: flush_shouldWriteSummedDeltasInOneBulkUpdate");
+
+        likeCounterTable.add("post1", 1);
+        likeCounterTable.add("post1", 1);
+        likeCounterTable.add("post2", 1);
+        likeCounterTable.add("post2", -1);
+
+        assertEquals(2, likeCounterTable.pendingDelta("post1"));
+
+        likeCounterTable.flush();
+
+        verify(feedRepository).incrementLikeCounts(Map.of("post1", 2L));
+        verify(postCache).applyCounterDelta("post1", 2L, 0);
+        assertEquals(0, likeCounterTable.pendingDelta("post1"));
+
+        likeCounterTable.flush();
+        verify(feedRepository).incrementLikeCounts(anyMap());
+
+        System.out.println("Like count changes flushed with one bulk update.");
+    }
+
+    @Test
+    void flush_shouldNotLoseConcurrentIncrements() throws Exception {
+        System.out.println("Starting test: flush_shouldNotLoseConcurrentIncrements");
+
+        int threads = 8;
+        int likesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < likesPerThread; j++) {
+                    likeCounterTable.add("viral", 1);
+                }
+            }));
+        }
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            likeCounterTable.flush();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        likeCounterTable.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(feedRepository, atLeastOnce()).incrementLikeCounts(deltas.capture());
+        long flushed = deltas.getAllValues().stream().mapToLong(delta -> delta.getOrDefault("viral", 0L)).sum();
+        assertEquals((long) threads * likesPerThread, flushed);
+
+        System.out.println("All " + flushed + " concurrent likes flushed.");
+    }
+
+    @Test
+    void add_shouldMarkPostDirtyOnceWhenItEntersTheTable() {
+        System.out.println("Starting test: add_shouldMarkPostDirtyOnceWhenItEntersTheTable");
+
+        likeCounterTable.add("post1", 1);
+        likeCounterTable.add("post1", 1);
+        likeCounterTable.flush();
+        likeCounterTable.add("post1", -1);
+
+        verify(feedRepository, times(1)).markLikeCountDirty("post1");
+        assertEquals(-1, likeCounterTable.pendingDelta("post1"));
+
+        System.out.println("Post marked dirty once.");
+    }
+
+    @Test
+    void reconcile_shouldOverwriteCountsOfDirtyPostsAndClearTheirMarks() {
+        System.out.println("Starting test: reconcile_shouldOverwriteCountsOfDirtyPostsAndClearTheirMarks");
+
+        likeCounterTable.add("post1", 1);
+        likeCounterTable.flush();
+        when(feedRepository.findLikeCountDirtyMarks()).thenReturn(Map.of("post1", 2L, "crashed", 1L));
+        when(likeRepository.countByPostIdIn(anyListOf("post1", "crashed"))).thenReturn(Map.of("post1", 5L));
+
+        likeCounterTable.reconcile();
+
+        verify(feedRepository).settleLikeCounts(Map.of("post1", 5L, "crashed", 0L), Map.of("post1", 2L, "crashed", 1L));
+        verify(postCache).setLikeCount("post1", 5L);
+        verify(postCache).setLikeCount("crashed", 0L);
+
+        likeCounterTable.add("post1", 1);
+        verify(feedRepository, times(2)).markLikeCountDirty("post1");
+
+        System.out.println("Dirty like counts reconciled against the likes.");
+    }
+
+    @Test
+    void reconcile_shouldKeepMarksOfPostsWithPendingChanges() {
+        System.out.println("Starting test: reconcile_shouldKeepMarksOfPostsWithPendingChanges");
+
+        likeCounterTable.add("busy", 1);
+        doAnswer(invocation -> {
+            likeCounterTable.add("busy", 1);
+            return null;
+        }).when(feedRepository).incrementLikeCounts(anyMap());
+        when(feedRepository.findLikeCountDirtyMarks()).thenReturn(Map.of("busy", 3L, "idle", 1L));
+        when(likeRepository.countByPostIdIn(anyListOf("busy", "idle"))).thenReturn(Map.of("busy", 2L, "idle", 4L));
+
+        likeCounterTable.reconcile();
+
+        verify(feedRepository).settleLikeCounts(Map.of("idle", 4L), Map.of("idle", 1L));
+
+        System.out.println("Post with pending changes stays marked.");
+    }
+
+    @Test
+    void reconcile_shouldNotOverwriteCountOfPostLikedDuringRecount() {
+        System.out.println("Starting test: reconcile_shouldNotOverwriteCountOfPostLikedDuringRecount");
+
+        when(feedRepository.findLikeCountDirtyMarks()).thenReturn(Map.of("hot", 1L, "idle", 1L));
+        when(likeRepository.countByPostIdIn(anyListOf("hot", "idle"))).thenAnswer(invocation -> {
+            likeCounterTable.add("hot", 1);
+            return Map.of("hot", 10L, "idle", 4L);
+        });
+
+        likeCounterTable.reconcile();
+
+        verify(feedRepository).settleLikeCounts(Map.of("idle", 4L), Map.of("idle", 1L));
+        verify(postCache, never()).setLikeCount("hot", 10L);
+        assertEquals(1, likeCounterTable.pendingDelta("hot"));
+
+        likeCounterTable.flush();
+        verify(feedRepository).incrementLikeCounts(Map.of("hot", 1L));
+
+        System.out.println("Like added after the flush was counted once.");
+    }
+
+    @Test
+    void reconcile_shouldDoNothingWithoutDirtyPosts() {
+        System.out.println("Starting test: reconcile_shouldDoNothingWithoutDirtyPosts");
+
+        when(feedRepository.findLikeCountDirtyMarks()).thenReturn(Map.of());
+
+        likeCounterTable.reconcile();
+
+        verify(likeRepository, never()).countByPostIdIn(anyList());
+        verify(feedRepository, never()).settleLikeCounts(anyMap(), anyMap());
+    }
+
+    private static List<String> anyListOf(String... postIds) {
+        return org.mockito.ArgumentMatchers.argThat(ids -> ids != null && ids.size() == postIds.length && ids.containsAll(List.of(postIds)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.userservice.services.interaction;
+
+import com.example.userservice.models.Like;
+import com.example.userservice.repositories.LikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LikeWriteBufferTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private LikeCounterTable likeCounterTable;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeWriteBuffer = new LikeWriteBuffer(likeRepository, likeCounterTable, taskExecutor, meterRegistry, true, 3);
+    }
+
+    @Test
+    void flush_shouldWriteOnlyLastIntentPerLikeInOneBulkWrite() {
+        System.out.println("Starting test: flush_shouldWriteOnlyLastIntentPerLikeInOneBulkWrite");
+
+        likeWriteBuffer.like("post1", "user1");
+        likeWriteBuffer.unlike("post1", "user1");
+        likeWriteBuffer.like("post2", "user1");
+
+        assertEquals(2.0, meterRegistry.get("likes.write_behind.pending").gauge().value());
+
+        when(likeRepository.writeAll(anyList(), anyList())).thenReturn(Map.of("post2", 1L));
+
+        likeWriteBuffer.flush();
+
+        verify(likeRepository).writeAll(
+                List.of(Like.builder().postId("post2").userId("user1").build()),
+                List.of(Like.builder().postId("post1").userId("user1").build()));
+        verify(likeCounterTable).add("post2", 1L);
+        assertEquals(0, likeWriteBuffer.pendingCount());
+
+        System.out.println("Buffered likes flushed with one bulk write.");
+    }
+
+    @Test
+    void like_shouldRequestFlushWhenBatchIsFull() {
+        System.out.println("Starting test: like_shouldRequestFlushWhenBatchIsFull");
+
+        likeWriteBuffer.like("post1", "user1");
+        likeWriteBuffer.like("post1", "user2");
+        verifyNoInteractions(taskExecutor);
+
+        likeWriteBuffer.like("post1", "user3");
+        likeWriteBuffer.like("post1", "user4");
+
+        verify(taskExecutor).execute(any(Runnable.class));
+
+        System.out.println("Flush requested once the batch size was reached.");
+    }
+
+    @Test
+    void flush_shouldKeepBatchBufferedWhenWriteFails() {
+        System.out.println("Starting test: flush_shouldKeepBatchBufferedWhenWriteFails");
+
+        likeWriteBuffer.like("post1", "user1");
+        when(likeRepository.writeAll(anyList(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        likeWriteBuffer.flush();
+
+        assertEquals(1, likeWriteBuffer.pendingCount());
+        verify(likeCounterTable, never()).add(any(), anyLong());
+
+        System.out.println("Failed batch kept for the next flush.");
+    }
+
+    @Test
+    void drain_shouldFlushBufferOnShutdown() {
+        System.out.println("Starting test: drain_shouldFlushBufferOnShutdown");
+
+        likeWriteBuffer.unlike("post1", "user1");
+        when(likeRepository.writeAll(anyList(), anyList())).thenReturn(Map.of("post1", -1L));
+
+        likeWriteBuffer.drain();
+
+        assertEquals(0, likeWriteBuffer.pendingCount());
+        verify(likeCounterTable).add("post1", -1L);
+
+        System.out.println("Buffer drained on shutdown.");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.userservice.services.subscription;
+
+import com.example.userservice.models.UserSubscription;
+import com.example.userservice.repositories.UserSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FollowingCacheTest {
+
+    @Mock
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    private FollowingCache followingCache;
+
+    @BeforeEach
+    void setUp() {
+        followingCache = new FollowingCache(userSubscriptionRepository, 100, Duration.ofMinutes(10));
+
+        when(userSubscriptionRepository.findByFollowerId("follower1")).thenReturn(Arrays.asList(
+                UserSubscription.builder().userId("user1").followerId("follower1").build(),
+                UserSubscription.builder().userId("user2").followerId("follower1").build()));
+    }
+
+    @Test
+    void getFollowedUserIds_shouldLoadOnceAndServeFromCache() {
+        System.out.println("Starting test: getFollowedUserIds_shouldLoadOnceAndServeFromCache");
+
+        List<String> first = followingCache.getFollowedUserIds("follower1");
+        List<String> second = followingCache.getFollowedUserIds("follower1");
+
+        assertEquals(Arrays.asList("user1", "user2"), first);
+        assertEquals(first, second);
+        verify(userSubscriptionRepository, times(1)).findByFollowerId("follower1");
+
+        System.out.println("Followed users served from cache: " + second);
+    }
+
+    @Test
+    void getCachedFollowedUserIds_shouldNotLoadOnMiss() {
+        System.out.println("Starting test: getCachedFollowedUserIds_shouldNotLoadOnMiss");
+
+        assertNull(followingCache.getCachedFollowedUserIds("follower1"));
+        followingCache.getFollowedUserIds("follower1");
+
+        assertEquals(Arrays.asList("user1", "user2"), followingCache.getCachedFollowedUserIds("follower1"));
+        verify(userSubscriptionRepository, times(1)).findByFollowerId("follower1");
+
+        System.out.println("Cache lookup did not query MongoDB on a miss.");
+    }
+
+    @Test
+    void addFollowedUser_shouldUpdateCachedEntryInPlace() {
+        System.out.println("Starting test: addFollowedUser_shouldUpdateCachedEntryInPlace");
+
+        followingCache.getFollowedUserIds("follower1");
+        followingCache.addFollowedUser("follower1", "user3");
+
+        assertEquals(Arrays.asList("user1", "user2", "user3"), followingCache.getFollowedUserIds("follower1"));
+        verify(userSubscriptionRepository, times(1)).findByFollowerId("follower1");
+
+        System.out.println("Cached entry updated without reloading.");
+    }
+}
@@ -3,6 +3,8 @@ package com.example.userservice.services.subscription;
 import com.example.userservice.models.UserSubscription;
 import com.example.userservice.pojos.UserDTO;
 import com.example.userservice.repositories.UserSubscriptionRepository;
+import com.example.userservice.services.feed.FeedPageCache;
+import com.example.userservice.services.feed.TimelineBackfill;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +28,15 @@ class SubscriptionServiceImplTest {
     @Mock
     private UserSubscriptionRepository userSubscriptionRepository;
 
+    @Mock
+    private FollowingCache followingCache;
+
+    @Mock
+    private FeedPageCache feedPageCache;
+
+    @Mock
+    private TimelineBackfill timelineBackfill;
+
     @InjectMocks
     private SubscriptionServiceImpl subscriptionService;
 
@@ -68,6 +79,9 @@ class SubscriptionServiceImplTest {
         verify(userSubscriptionRepository).save(
                 argThat(sub -> sub.getUserId().equals("user123") && sub.getFollowerId().equals("follower456"))
         );
+        verify(followingCache).addFollowedUser("follower456", "user123");
+        verify(timelineBackfill).backfillFollower("user123", "follower456");
+        verify(feedPageCache).invalidateReader("follower456");
 
         System.out.println("New subscription created successfully.");
     }
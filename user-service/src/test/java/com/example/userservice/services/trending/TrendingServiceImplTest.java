@@ -0,0 +1,195 @@
+package com.example.userservice.services.trending;
+
+import com.example.userservice.pojos.TrendingPost;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingServiceImplTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-05-01T12:00:00Z"));
+
+    @Test
+    void getTrending_shouldFindHeavyHittersOfZipfianStream() {
+        System.out.println("Starting test: getTrending_shouldFindHeavyHittersOfZipfianStream");
+
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(Duration.ofHours(1), 12, 50, 4, 4096, 1024, clock);
+        ZipfianGenerator zipf = new ZipfianGenerator(10_000, 1.1, new Random(42));
+        Map<String, Long> exactCounts = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            String postId = "post" + zipf.next();
+            exactCounts.merge(postId, 1L, Long::sum);
+            trendingService.recordInteraction(postId);
+            if (i % 10_000 == 0) {
+                clock.advance(Duration.ofSeconds(10));
+            }
+        }
+
+        List<TrendingPost> trending = trendingService.getTrending(10);
+        List<String> exactTop = exactCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+        Set<String> trendingIds = trending.stream().map(TrendingPost::getPostId).collect(Collectors.toSet());
+
+        assertEquals(10, trending.size());
+        assertEquals(exactTop.get(0), trending.get(0).getPostId());
+        assertTrue(trendingIds.containsAll(exactTop.subList(0, 5)), "Top 5 missing from " + trending);
+        assertTrue(exactTop.stream().filter(trendingIds::contains).count() >= 9, "Expected 9 of " + exactTop + " in " + trending);
+        for (TrendingPost post : trending) {
+            assertTrue(post.getScore() >= exactCounts.get(post.getPostId()), "Count-Min estimates never undercount");
+        }
+
+        System.out.println("Trending posts of the Zipfian stream: " + trending);
+    }
+
+    @Test
+    void getTrending_shouldForgetInteractionsOutsideWindow() {
+        System.out.println("Starting test: getTrending_shouldForgetInteractionsOutsideWindow");
+
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(Duration.ofMinutes(10), 10, 10, 4, 1024, 1024, clock);
+        for (int i = 0; i < 5; i++) {
+            trendingService.recordInteraction("old");
+        }
+        clock.advance(Duration.ofMinutes(5));
+        trendingService.recordInteraction("new");
+
+        assertEquals(List.of("old", "new"), trendingService.getTrending(10).stream().map(TrendingPost::getPostId).toList());
+
+        clock.advance(Duration.ofMinutes(6));
+
+        List<TrendingPost> trending = trendingService.getTrending(10);
+        assertEquals(List.of(TrendingPost.builder().postId("new").score(1).build()), trending);
+
+        clock.advance(Duration.ofHours(1));
+        assertTrue(trendingService.getTrending(10).isEmpty());
+
+        System.out.println("Expired interactions left the trending window.");
+    }
+
+    @Test
+    void countMinSketch_shouldSubtractExpiredBucket() {
+        System.out.println("Starting test: countMinSketch_shouldSubtractExpiredBucket");
+
+        CountMinSketch window = new CountMinSketch(4, 256);
+        CountMinSketch bucket = new CountMinSketch(4, 256);
+        bucket.add("post1", 3);
+        window.addAll(bucket);
+        window.add("post2", 2);
+
+        assertEquals(3, window.estimate("post1"));
+        window.subtractAll(bucket);
+
+        assertEquals(0, window.estimate("post1"));
+        assertEquals(2, window.estimate("post2"));
+
+        System.out.println("Expired bucket subtracted from the window sketch.");
+    }
+
+    /**
+     * Draws ranks 1..n with probability proportional to {@code 1 / rank^exponent}.
+     */
+    private static final class ZipfianGenerator {
+        private final double[] cumulative;
+        private final Random random;
+
+        private ZipfianGenerator(int n, double exponent, Random random) {
+            this.random = random;
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 1; rank <= n; rank++) {
+                sum += 1 / Math.pow(rank, exponent);
+                cumulative[rank - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        private int next() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return (index >= 0 ? index : -index - 1) + 1;
+        }
+    }
+
+    @Test
+    void recordInteraction_shouldCountEventsFromConcurrentThreads() throws Exception {
+        System.out.println("Starting test: recordInteraction_shouldCountEventsFromConcurrentThreads");
+
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(Duration.ofHours(1), 12, 10, 4, 4096, 1 << 20, clock);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    trendingService.recordInteraction(i % 2 == 0 ? "hot" : "warm");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<TrendingPost> trending = trendingService.getTrending(10);
+
+        assertEquals(List.of("hot", "warm"), trending.stream().map(TrendingPost::getPostId).toList());
+        assertEquals(threads * perThread / 2, trending.get(0).getScore());
+        assertEquals(threads * perThread / 2, trending.get(1).getScore());
+        System.out.println("Concurrent interactions counted: " + trending);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}